@@ -1,6 +1,7 @@
 package butterknife;
 
 import android.support.annotation.IdRes;
+import android.view.View;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
@@ -14,6 +15,12 @@ import static java.lang.annotation.RetentionPolicy.CLASS;
  * <pre><code>
  * {@literal @}BindView(R.id.title) TextView title;
  * </code></pre>
+ * A view which lives in the layout of a {@link android.view.ViewStub ViewStub} can name the stub.
+ * The field, and any listeners for the same ID, are then bound only when the stub inflates, or
+ * immediately if it already has.
+ * <pre><code>
+ * {@literal @}BindView(value = R.id.error_message, stub = R.id.error_stub) TextView errorMessage;
+ * </code></pre>
  */
 @Retention(CLASS)
 @Target(FIELD)
@@ -22,4 +29,11 @@ public @interface BindView {
      * View ID to which the field will be bound.
      */
     @IdRes int value();
+
+    /**
+     * ID of the {@code ViewStub} whose layout contains the view. The generated binding sets the
+     * stub's {@code OnInflateListener}, which bindings of a class and its superclasses share. A
+     * stub cannot report its current listener, so do not set one of your own on it.
+     */
+    @IdRes int stub() default View.NO_ID;
 }
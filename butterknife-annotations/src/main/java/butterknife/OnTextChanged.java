@@ -28,6 +28,17 @@ import static java.lang.annotation.RetentionPolicy.CLASS;
  *   Toast.makeText(this, "Before text changed: " + text, Toast.LENGTH_SHORT).show();
  * }
  * </code></pre>
+ * <p>
+ * Expensive callbacks can coalesce bursts of changes with {@code debounceMs} or
+ * {@code throttleMs}. Only the latest values are delivered, on the main thread, and any pending
+ * delivery is dropped when the binding is unbound.
+ * <pre><code>
+ * {@literal @}OnTextChanged(value = R.id.search, debounceMs = 300)
+ * void onQueryChanged(CharSequence query) {
+ *   adapter.filter(query);
+ * }
+ * </code></pre>
+ * All methods bound to the {@link TextWatcher} of a view must use the same values.
  *
  * @see TextWatcher
  */
@@ -47,6 +58,18 @@ public @interface OnTextChanged {
   /** Listener callback to which the method will be bound. */
   Callback callback() default Callback.TEXT_CHANGED;
 
+  /**
+   * Deliver only once no further changes have occurred for this many milliseconds. Zero delivers
+   * every change synchronously.
+   */
+  int debounceMs() default 0;
+
+  /**
+   * Deliver at most once per this many milliseconds. Zero delivers every change synchronously.
+   * Cannot be combined with {@link #debounceMs()}.
+   */
+  int throttleMs() default 0;
+
   /** {@link TextWatcher} callback methods. */
   enum Callback {
     /** {@link TextWatcher#onTextChanged(CharSequence, int, int, int)} */
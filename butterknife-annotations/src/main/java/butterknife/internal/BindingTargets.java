@@ -0,0 +1,18 @@
+package butterknife.internal;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/**
+ * Lists the targets with a generated {@code _ViewBinding} class in one module. Generated on a
+ * class in the {@code butterknife.index} package so that the processor of the application module
+ * can merge the targets of every module on its classpath into one binding index.
+ */
+@Retention(CLASS) @Target(TYPE)
+public @interface BindingTargets {
+  /** Binary names of the targets, as returned by {@link Class#getName()}. */
+  String[] value();
+}
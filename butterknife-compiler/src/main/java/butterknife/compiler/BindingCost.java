@@ -0,0 +1,62 @@
+package butterknife.compiler;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/** The work a generated binding performs when it is constructed. */
+final class BindingCost {
+  /** Calls which look up a view by ID. */
+  int viewLookups;
+  /** Walks of a {@code ViewPathCache} which find all views of a holder at once. */
+  int pathLookups;
+  /** Lookups which check that the view is present. */
+  int requiredChecks;
+  /** Checked casts through {@code Utils}. */
+  int castViews;
+  /** Anonymous listener classes which are instantiated. */
+  int listenerClasses;
+  /** Listeners instantiated from the package's shared listener classes. */
+  int sharedListeners;
+  /** Resource loads keyed by {@link ResourceBinding#kind()}. */
+  final Map<String, Integer> resourceLoads = new TreeMap<>();
+
+  void addResourceLoad(String kind) {
+    Integer count = resourceLoads.get(kind);
+    resourceLoads.put(kind, count == null ? 1 : count + 1);
+  }
+
+  void add(BindingCost other) {
+    viewLookups += other.viewLookups;
+    pathLookups += other.pathLookups;
+    requiredChecks += other.requiredChecks;
+    castViews += other.castViews;
+    listenerClasses += other.listenerClasses;
+    sharedListeners += other.sharedListeners;
+    for (Map.Entry<String, Integer> entry : other.resourceLoads.entrySet()) {
+      Integer count = resourceLoads.get(entry.getKey());
+      resourceLoads.put(entry.getKey(), (count == null ? 0 : count) + entry.getValue());
+    }
+  }
+
+  void writeJson(StringBuilder builder, String indent) {
+    builder.append("{\n")
+        .append(indent).append("  \"viewLookups\": ").append(viewLookups).append(",\n")
+        .append(indent).append("  \"pathLookups\": ").append(pathLookups).append(",\n")
+        .append(indent).append("  \"requiredChecks\": ").append(requiredChecks).append(",\n")
+        .append(indent).append("  \"castViews\": ").append(castViews).append(",\n")
+        .append(indent).append("  \"listenerClasses\": ").append(listenerClasses).append(",\n")
+        .append(indent).append("  \"sharedListeners\": ").append(sharedListeners).append(",\n")
+        .append(indent).append("  \"resourceLoads\": {");
+    boolean first = true;
+    for (Map.Entry<String, Integer> entry : resourceLoads.entrySet()) {
+      builder.append(first ? "\n" : ",\n")
+          .append(indent).append("    \"").append(entry.getKey()).append("\": ")
+          .append(entry.getValue());
+      first = false;
+    }
+    if (!first) {
+      builder.append('\n').append(indent).append("  ");
+    }
+    builder.append("}\n").append(indent).append('}');
+  }
+}
@@ -0,0 +1,59 @@
+package butterknife.compiler;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects the {@link BindingCost} of every binding generated for a module and renders them as
+ * JSON, ordered by target class.
+ */
+final class BindingCostReport {
+  static final String PACKAGE = "butterknife";
+  static final String FILE_NAME = "binding-cost.json";
+
+  private final Map<String, Entry> entries = new TreeMap<>();
+
+  void add(String target, BindingCost cost, String parent, BindingCost inherited) {
+    entries.put(target, new Entry(cost, parent, inherited));
+  }
+
+  boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  String toJson() {
+    StringBuilder builder = new StringBuilder("{\n  \"bindings\": [");
+    boolean first = true;
+    for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+      Entry entry = mapEntry.getValue();
+      builder.append(first ? "\n" : ",\n")
+          .append("    {\n")
+          .append("      \"target\": \"").append(mapEntry.getKey()).append("\",\n")
+          .append("      \"cost\": ");
+      entry.cost.writeJson(builder, "      ");
+      if (entry.parent != null) {
+        builder.append(",\n      \"parent\": \"").append(entry.parent).append("\",\n")
+            .append("      \"inherited\": ");
+        entry.inherited.writeJson(builder, "      ");
+      }
+      builder.append("\n    }");
+      first = false;
+    }
+    if (!first) {
+      builder.append("\n  ");
+    }
+    return builder.append("]\n}\n").toString();
+  }
+
+  private static final class Entry {
+    final BindingCost cost;
+    final String parent;
+    final BindingCost inherited;
+
+    Entry(BindingCost cost, String parent, BindingCost inherited) {
+      this.cost = cost;
+      this.parent = parent;
+      this.inherited = inherited;
+    }
+  }
+}
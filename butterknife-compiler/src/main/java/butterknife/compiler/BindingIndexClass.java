@@ -0,0 +1,207 @@
+package butterknife.compiler;
+
+import butterknife.internal.BindingTargets;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PROTECTED;
+import static javax.lang.model.element.Modifier.PUBLIC;
+
+/**
+ * The targets with a generated binding class, either of one module, listed by a
+ * {@link BindingTargets} class in {@link #PACKAGE}, or of a whole application merged from every
+ * such class on its classpath into one {@code butterknife.BindingIndex}.
+ */
+final class BindingIndexClass {
+  static final String PACKAGE = "butterknife.index";
+  static final String AGGREGATE_NAME = "ButterKnifeBindingIndex";
+  private static final ClassName BINDING_INDEX = ClassName.get("butterknife", "BindingIndex");
+  private static final ClassName UNBINDER = ClassName.get("butterknife", "Unbinder");
+  private static final ClassName VIEW = ClassName.get("android.view", "View");
+
+  /** Orders targets like the runtime searches them: by the hash of their name, then by name. */
+  private static final Comparator<String> HASH_ORDER = new Comparator<String>() {
+    @Override public int compare(String left, String right) {
+      int leftHash = left.hashCode();
+      int rightHash = right.hashCode();
+      if (leftHash != rightHash) {
+        return leftHash < rightHash ? -1 : 1;
+      }
+      return left.compareTo(right);
+    }
+  };
+
+  private final Set<String> targets = new TreeSet<>();
+
+  void addTarget(String binaryName) {
+    targets.add(binaryName);
+  }
+
+  boolean isEmpty() {
+    return targets.isEmpty();
+  }
+
+  void clear() {
+    targets.clear();
+  }
+
+  /** Adds the targets listed by every module index visible to this compilation. */
+  void addModuleTargets(Elements elements) {
+    PackageElement indexPackage = elements.getPackageElement(PACKAGE);
+    if (indexPackage == null) {
+      return;
+    }
+    for (Element element : indexPackage.getEnclosedElements()) {
+      BindingTargets moduleTargets = element.getAnnotation(BindingTargets.class);
+      if (moduleTargets != null) {
+        Collections.addAll(targets, moduleTargets.value());
+      }
+    }
+  }
+
+  /** Returns a class in {@link #PACKAGE} which lists the targets of this module. */
+  JavaFile brewModuleIndex(ClassName className) {
+    AnnotationSpec.Builder annotation = AnnotationSpec.builder(BindingTargets.class);
+    for (String target : targets) {
+      annotation.addMember("value", "$S", target);
+    }
+    TypeSpec result = TypeSpec.classBuilder(className)
+        .addModifiers(FINAL)
+        .addAnnotation(annotation.build())
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(PRIVATE)
+            .addStatement("throw new $T($S)", AssertionError.class, "No instances.")
+            .build())
+        .build();
+    return JavaFile.builder(className.packageName(), result)
+        .addFileComment("Generated code from Butter Knife. Do not modify!")
+        .build();
+  }
+
+  /**
+   * Returns the {@code BindingIndex} of the application. Targets whose binding class the index can
+   * reach get a factory, so the runtime creates their bindings without reflection.
+   */
+  JavaFile brewAggregateIndex(Elements elements) {
+    List<String> sorted = new ArrayList<>(targets);
+    Collections.sort(sorted, HASH_ORDER);
+    CodeBlock.Builder hashes = CodeBlock.builder();
+    CodeBlock.Builder names = CodeBlock.builder();
+    CodeBlock.Builder factories = CodeBlock.builder();
+    CodeBlock.Builder cases = CodeBlock.builder();
+    boolean hasFactory = false;
+    for (int i = 0; i < sorted.size(); i++) {
+      String separator = i == 0 ? "" : ", ";
+      hashes.add(separator).add("$L", sorted.get(i).hashCode());
+      names.add(separator).add("$S", sorted.get(i));
+      TypeElement binding = findFactoryBinding(elements, sorted.get(i));
+      factories.add(separator).add("$L", binding != null);
+      if (binding != null) {
+        hasFactory = true;
+        ClassName target = ClassName.get(
+            elements.getTypeElement(sorted.get(i).replace('$', '.')));
+        cases.add("case $L:\n", i).indent()
+            .addStatement("return new $T(($T) target, source)", ClassName.get(binding), target)
+            .unindent();
+      }
+    }
+
+    MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+        .addModifiers(PUBLIC);
+    TypeSpec.Builder result = TypeSpec.classBuilder(AGGREGATE_NAME)
+        .addModifiers(PUBLIC, FINAL)
+        .superclass(BINDING_INDEX);
+    if (hasFactory) {
+      constructor.addStatement("super(new int[] {$L},\nnew $T[] {$L},\nnew boolean[] {$L})",
+          hashes.build(), String.class, names.build(), factories.build());
+      result.addMethod(constructor.build());
+      result.addMethod(MethodSpec.methodBuilder("newBinding")
+          .addAnnotation(Override.class)
+          .addModifiers(PROTECTED)
+          .returns(UNBINDER)
+          .addParameter(int.class, "index")
+          .addParameter(Object.class, "target")
+          .addParameter(VIEW, "source")
+          .beginControlFlow("switch (index)")
+          .addCode(cases.build())
+          .addCode("default:\n").addCode(CodeBlock.builder().indent()
+              .addStatement("throw new $T($S + index)", IllegalArgumentException.class,
+                  "No binding factory at ")
+              .unindent().build())
+          .endControlFlow()
+          .build());
+    } else {
+      constructor.addStatement("super(new int[] {$L},\nnew $T[] {$L})",
+          hashes.build(), String.class, names.build());
+      result.addMethod(constructor.build());
+    }
+    return JavaFile.builder(PACKAGE, result.build())
+        .addFileComment("Generated code from Butter Knife. Do not modify!")
+        .build();
+  }
+
+  /**
+   * Returns the binding class of the target named {@code binaryName} if the index can create it
+   * directly: the target and its binding class must be public and the target not generic.
+   */
+  private static TypeElement findFactoryBinding(Elements elements, String binaryName) {
+    TypeElement target = elements.getTypeElement(binaryName.replace('$', '.'));
+    if (target == null || !target.getTypeParameters().isEmpty()) {
+      return null;
+    }
+    for (Element element = target; element instanceof TypeElement;
+        element = element.getEnclosingElement()) {
+      if (!element.getModifiers().contains(PUBLIC)) {
+        return null;
+      }
+    }
+    String packageName = elements.getPackageOf(target).getQualifiedName().toString();
+    String className = packageName.isEmpty()
+        ? binaryName
+        : binaryName.substring(packageName.length() + 1);
+    TypeElement binding = elements.getTypeElement(
+        (packageName.isEmpty() ? "" : packageName + ".") + className + "_ViewBinding");
+    if (binding == null || !binding.getModifiers().contains(PUBLIC)) {
+      return null;
+    }
+    for (ExecutableElement constructor
+        : ElementFilter.constructorsIn(binding.getEnclosedElements())) {
+      List<? extends VariableElement> parameters = constructor.getParameters();
+      if (constructor.getModifiers().contains(PUBLIC)
+          && parameters.size() == 2
+          && parameters.get(1).asType().toString().equals(VIEW.toString())) {
+        return binding;
+      }
+    }
+    return null;
+  }
+
+  /** Returns {@code name} with every character which is not valid in an identifier replaced. */
+  static String toIdentifier(String name) {
+    StringBuilder result = new StringBuilder(name.length());
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      result.append(Character.isJavaIdentifierPart(c) ? c : '_');
+    }
+    return result.toString();
+  }
+}
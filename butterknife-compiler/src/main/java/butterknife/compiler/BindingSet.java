@@ -1,13 +1,16 @@
 package butterknife.compiler;
 
+import butterknife.OnClick;
 import butterknife.OnTouch;
 import butterknife.internal.ListenerClass;
 import butterknife.internal.ListenerMethod;
 
 import com.google.common.collect.ImmutableList;
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
@@ -15,12 +18,11 @@ import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.WildcardTypeName;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,15 +31,13 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeMirror;
 
-import static butterknife.compiler.ButterKnifeProcessor.ACTIVITY_TYPE;
-import static butterknife.compiler.ButterKnifeProcessor.DIALOG_TYPE;
 import static butterknife.compiler.ButterKnifeProcessor.VIEW_TYPE;
-import static butterknife.compiler.ButterKnifeProcessor.isSubtypeOfType;
 import static com.google.auto.common.MoreElements.getPackage;
 import static java.util.Collections.singletonList;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
 
 /**
  * A set of all the bindings requested by a single type.
@@ -54,6 +54,16 @@ final class BindingSet {
     private static final ClassName SUPPRESS_LINT =
             ClassName.get("android.annotation", "SuppressLint");
     private static final ClassName UNBINDER = ClassName.get("butterknife", "Unbinder");
+    private static final ClassName COALESCING_TEXT_WATCHER =
+            ClassName.get("butterknife.internal", "CoalescingTextWatcher");
+    private static final ClassName VIEW_PATH_CACHE =
+            ClassName.get("butterknife.internal", "ViewPathCache");
+    private static final ClassName VIEW_STUB_BINDER =
+            ClassName.get("butterknife.internal", "ViewStubBinder");
+    private static final ClassName TRACE_COMPAT =
+            ClassName.get("android.support.v4.os", "TraceCompat");
+    /** Section names longer than this are rejected by {@code android.os.Trace}. */
+    private static final int MAX_SECTION_NAME_LENGTH = 127;
     static final ClassName BITMAP_FACTORY = ClassName.get("android.graphics", "BitmapFactory");
     static final ClassName CONTEXT_COMPAT =
             ClassName.get("android.support.v4.content", "ContextCompat");
@@ -87,8 +97,13 @@ final class BindingSet {
         this.parentBinding = parentBinding;
     }
 
-    JavaFile brewJava(int sdk, boolean debuggable) {
-        return JavaFile.builder(bindingClassName.packageName(), createType(sdk, debuggable))
+    /**
+     * @param support 共享监听器类的收集者，为 null 时每个监听器都生成匿名内部类
+     */
+    JavaFile brewJava(int sdk, boolean debuggable, boolean trace, boolean holderPaths,
+                      SupportClass support) {
+        return JavaFile.builder(bindingClassName.packageName(),
+                createType(sdk, debuggable, trace, holderPaths, support))
                 .addFileComment("Generated code from Butter Knife. Do not modify!")
                 .build();
     }
@@ -96,10 +111,13 @@ final class BindingSet {
     /**
      * @param sdk
      * @param debuggable
+     * @param trace 是否在构造函数中插入 Trace section
+     * @param holderPaths 是否为 ViewHolder 类型的目标缓存视图的子节点索引路径，仅在非 debuggable 时生效
      * @return TypeSpec 表示一个类、接口、或者枚举声明，可以用来构造一个 JavaFile
      *          TypeSpec 与注解中的 Type 相对应
      */
-    private TypeSpec createType(int sdk, boolean debuggable) {
+    private TypeSpec createType(int sdk, boolean debuggable, boolean trace, boolean holderPaths,
+                                SupportClass support) {
         TypeSpec.Builder result = TypeSpec.classBuilder(bindingClassName.simpleName())
                 .addModifiers(PUBLIC);
         if (isFinal) {
@@ -113,6 +131,17 @@ final class BindingSet {
             result.addSuperinterface(UNBINDER);
         }
 
+        List<Id> pathIds = getPathIds(holderPaths, debuggable);
+        if (pathIds != null) {
+            CodeBlock.Builder ids = CodeBlock.builder();
+            for (int i = 0; i < pathIds.size(); i++) {
+                ids.add(i == 0 ? "$L" : ", $L", pathIds.get(i).code);
+            }
+            result.addField(FieldSpec.builder(VIEW_PATH_CACHE, "PATHS", PRIVATE, STATIC, FINAL)
+                    .initializer("new $T($L)", VIEW_PATH_CACHE, ids.build())
+                    .build());
+        }
+
         if (hasTargetField()) {
             result.addField(targetTypeName, "target", PRIVATE);
         }
@@ -128,7 +157,11 @@ final class BindingSet {
             // Add a delegating constructor with a target type + view signature for reflective use.
             result.addMethod(createBindingViewDelegateConstructor());
         }
-        result.addMethod(createBindingConstructor(sdk, debuggable));
+        if (pathIds != null) {
+            // ButterKnife.bindAll 找到多个目标的视图后直接传入 views，其它情况下通过 PATHS 查找
+            result.addMethod(createBindingPathsDelegateConstructor(pathIds));
+        }
+        result.addMethod(createBindingConstructor(sdk, debuggable, trace, pathIds, support));
 
         if (hasViewBindings() || parentBinding == null) {
             result.addMethod(createBindingUnbindMethod(result));
@@ -151,6 +184,16 @@ final class BindingSet {
                 .build();
     }
 
+    private MethodSpec createBindingPathsDelegateConstructor(List<Id> pathIds) {
+        return MethodSpec.constructorBuilder()
+                .addAnnotation(UI_THREAD)
+                .addModifiers(PUBLIC)
+                .addParameter(targetTypeName, "target")
+                .addParameter(VIEW, "source")
+                .addStatement("this(target, source, PATHS.find(source))")
+                .build();
+    }
+
     private MethodSpec createBindingConstructorForView() {
         MethodSpec.Builder builder = MethodSpec.constructorBuilder()
                 .addAnnotation(UI_THREAD)
@@ -190,12 +233,13 @@ final class BindingSet {
         return builder.build();
     }
 
-    private MethodSpec createBindingConstructor(int sdk, boolean debuggable) {
+    private MethodSpec createBindingConstructor(int sdk, boolean debuggable, boolean trace,
+                                                List<Id> pathIds, SupportClass support) {
         MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
                 .addAnnotation(UI_THREAD)
                 .addModifiers(PUBLIC);
 
-        if (hasMethodBindings()) {
+        if (hasMethodBindings() || hasStubBindings()) {
             constructor.addParameter(targetTypeName, "target", FINAL);
         } else {
             constructor.addParameter(targetTypeName, "target");
@@ -206,6 +250,10 @@ final class BindingSet {
         } else {
             constructor.addParameter(CONTEXT, "context");
         }
+        if (pathIds != null) {
+            // The views with the IDs of PATHS, in their order.
+            constructor.addParameter(ArrayTypeName.of(VIEW), "views");
+        }
 
         if (hasUnqualifiedResourceBindings()) {
             // Aapt can change IDs out from underneath us, just suppress since all will work at runtime.
@@ -236,15 +284,21 @@ final class BindingSet {
         }
 
         if (hasViewBindings()) {
-            if (hasViewLocal()) {
-                // Local variable in which all views will be temporarily stored.
-                constructor.addStatement("$T view", VIEW);
-            }
-            for (ViewBinding binding : viewBindings) {
-                addViewBinding(constructor, binding, debuggable);
+            List<ViewBinding> bindings = getImmediateViewBindings();
+            if (pathIds != null) {
+                // Views found by path are checked all at once.
+                addViewBindings(constructor, bindings, collectionBindings, debuggable, trace,
+                        pathIds, support);
+            } else {
+                if (debuggable && hasViewLocal(bindings)) {
+                    // Local variable in which all views will be temporarily stored.
+                    constructor.addStatement("$T view", VIEW);
+                }
+                addViewBindings(constructor, bindings, collectionBindings, debuggable, trace, null,
+                        support);
             }
-            for (FieldCollectionViewBinding binding : collectionBindings) {
-                constructor.addStatement("$L", binding.render(debuggable));
+            for (Map.Entry<Id, List<ViewBinding>> stub : getStubViewBindings().entrySet()) {
+                addStubBinding(constructor, stub.getKey(), stub.getValue(), debuggable, support);
             }
 
             if (!resourceBindings.isEmpty()) {
@@ -253,6 +307,9 @@ final class BindingSet {
         }
 
         if (!resourceBindings.isEmpty()) {
+            if (trace) {
+                beginTraceSection(constructor, "resources");
+            }
             if (constructorNeedsView()) {
                 constructor.addStatement("$T context = source.getContext()", CONTEXT);
             }
@@ -262,11 +319,420 @@ final class BindingSet {
             for (ResourceBinding binding : resourceBindings) {
                 constructor.addStatement("$L", binding.render(sdk));
             }
+            if (trace) {
+                endTraceSection(constructor);
+            }
         }
 
         return constructor.build();
     }
 
+    /**
+     * @param pathIds 通过 {@code views[i]} 读取的视图 ID，为 null 时通过 findViewById 查找
+     */
+    private void addViewBindings(MethodSpec.Builder method, List<ViewBinding> bindings,
+                                 List<FieldCollectionViewBinding> collections, boolean debuggable,
+                                 boolean trace, List<Id> pathIds, SupportClass support) {
+        if (trace || !debuggable) {
+            addSplitViewBindings(method, bindings, collections, debuggable, trace, pathIds, support);
+        } else {
+            for (ViewBinding binding : bindings) {
+                addViewBinding(method, binding, debuggable, true, pathIds, support);
+            }
+            for (FieldCollectionViewBinding binding : collections) {
+                method.addCode(binding.render(debuggable));
+            }
+        }
+    }
+
+    /**
+     * Emits all view lookups before any listener wiring. Views which have listeners are kept in
+     * their fields so that the listeners can be wired once all lookups are done. This allows each
+     * phase to be traced separately and, when not debuggable, all required views to be checked at
+     * once in between.
+     */
+    private void addSplitViewBindings(MethodSpec.Builder method, List<ViewBinding> bindings,
+                                      List<FieldCollectionViewBinding> collections,
+                                      boolean debuggable, boolean trace, List<Id> pathIds,
+                                      SupportClass support) {
+        if (trace) {
+            beginTraceSection(method, "views");
+        }
+        for (ViewBinding binding : bindings) {
+            addViewBinding(method, binding, debuggable, false, pathIds, support);
+        }
+        for (FieldCollectionViewBinding binding : collections) {
+            method.addCode(binding.render(debuggable));
+        }
+        if (trace) {
+            endTraceSection(method);
+        }
+
+        if (!debuggable) {
+            addRequiredViewsCheck(method, bindings, collections);
+        }
+
+        if (hasMethodBindings(bindings)) {
+            method.addCode("\n");
+            if (trace) {
+                beginTraceSection(method, "listeners");
+            }
+            for (ViewBinding binding : bindings) {
+                addMethodBindings(method, binding, debuggable, true, support);
+            }
+            if (trace) {
+                endTraceSection(method);
+            }
+        }
+    }
+
+    /**
+     * Binds the views in the layout of a {@code ViewStub}, and their listeners, once it inflates.
+     */
+    private void addStubBinding(MethodSpec.Builder constructor, Id stubId,
+                                List<ViewBinding> bindings, boolean debuggable,
+                                SupportClass support) {
+        MethodSpec.Builder doBind = MethodSpec.methodBuilder("doBind")
+                .addAnnotation(Override.class)
+                .addModifiers(PUBLIC)
+                .addParameter(VIEW, "source");
+        if (debuggable && hasViewLocal(bindings)) {
+            doBind.addStatement("$T view", VIEW);
+        }
+        addViewBindings(doBind, bindings, ImmutableList.<FieldCollectionViewBinding>of(), debuggable,
+                false, null, support);
+        TypeSpec binder = TypeSpec.anonymousClassBuilder("")
+                .superclass(VIEW_STUB_BINDER)
+                .addMethod(doBind.build())
+                .build();
+
+        String fieldName = stubFieldName(stubId);
+        constructor.addStatement("$L = $L", fieldName, binder);
+        constructor.addStatement("$L.attach(source, $L)", fieldName, stubId.code);
+    }
+
+    private static String stubFieldName(Id stubId) {
+        return "viewStub" + Integer.toHexString(stubId.value);
+    }
+
+    /**
+     * Returns the IDs of the views which a {@code ViewPathCache} finds for a holder-like target, or
+     * null if views are looked up by ID. Debuggable builds always look up by ID so that a missing
+     * view or a wrong type is reported with the field or method it was bound to.
+     */
+    private List<Id> getPathIds(boolean holderPaths, boolean debuggable) {
+        if (!holderPaths || debuggable || isView || isActivity || isDialog) {
+            return null;
+        }
+        List<Id> ids = new ArrayList<>();
+        for (ViewBinding binding : getImmediateViewBindings()) {
+            if (!binding.isBoundToRoot() && binding.getInheritedField() == null) {
+                ids.add(binding.getId());
+            }
+        }
+        return ids.isEmpty() ? null : ids;
+    }
+
+    private List<ViewBinding> getImmediateViewBindings() {
+        List<ViewBinding> bindings = new ArrayList<>();
+        for (ViewBinding binding : viewBindings) {
+            if (binding.getStubId() == null) {
+                bindings.add(binding);
+            }
+        }
+        return bindings;
+    }
+
+    /** Returns the bindings of views which live in a {@code ViewStub}, keyed by its ID. */
+    private Map<Id, List<ViewBinding>> getStubViewBindings() {
+        Map<Id, List<ViewBinding>> stubs = new LinkedHashMap<>();
+        for (ViewBinding binding : viewBindings) {
+            Id stubId = binding.getStubId();
+            if (stubId != null) {
+                List<ViewBinding> bindings = stubs.get(stubId);
+                if (bindings == null) {
+                    bindings = new ArrayList<>();
+                    stubs.put(stubId, bindings);
+                }
+                bindings.add(binding);
+            }
+        }
+        return stubs;
+    }
+
+    /**
+     * Emits a single check that every required view was found which reports all of the missing
+     * ones. This replaces the per-view {@code Utils} calls and descriptions of debuggable builds.
+     */
+    private void addRequiredViewsCheck(MethodSpec.Builder method, List<ViewBinding> bindings,
+                                       List<FieldCollectionViewBinding> collections) {
+        CodeBlock.Builder condition = CodeBlock.builder();
+        CodeBlock.Builder ids = CodeBlock.builder();
+        boolean first = true;
+        for (ViewBinding binding : bindings) {
+            if (binding.isBoundToRoot() || binding.getInheritedField() != null
+                    || binding.getRequiredBindings().isEmpty()) {
+                continue;
+            }
+            if (!first) {
+                condition.add(" || ");
+                ids.add(", ");
+            }
+            String reference = binding.isSingleFieldBinding()
+                    ? "target." + binding.getFieldBinding().getName()
+                    : "view" + Integer.toHexString(binding.getId().value);
+            condition.add("$L == null", reference);
+            ids.add("$L", binding.getId().code);
+            first = false;
+        }
+        for (FieldCollectionViewBinding binding : collections) {
+            if (!binding.isRequired()) {
+                continue;
+            }
+            if (!first) {
+                condition.add(" || ");
+                ids.add(", ");
+            }
+            binding.addMissingCondition(condition);
+            binding.addIds(ids);
+            first = false;
+        }
+        if (first) {
+            return;
+        }
+
+        method.beginControlFlow("if ($L)", condition.build());
+        method.addStatement("throw $T.missingRequiredViews(source, $L)", UTILS, ids.build());
+        method.endControlFlow();
+    }
+
+    private void beginTraceSection(MethodSpec.Builder constructor, String phase) {
+        String name = getTargetName() + " " + phase;
+        if (name.length() > MAX_SECTION_NAME_LENGTH) {
+            // Keep the most specific end of the name.
+            name = name.substring(name.length() - MAX_SECTION_NAME_LENGTH);
+        }
+        constructor.addStatement("$T.beginSection($S)", TRACE_COMPAT, name);
+        constructor.beginControlFlow("try");
+    }
+
+    private void endTraceSection(MethodSpec.Builder constructor) {
+        constructor.nextControlFlow("finally");
+        constructor.addStatement("$T.endSection()", TRACE_COMPAT);
+        constructor.endControlFlow();
+    }
+
+    String getPackageName() {
+        return bindingClassName.packageName();
+    }
+
+    /** The binary name of the target class. */
+    String getTargetName() {
+        String name = bindingClassName.reflectionName();
+        return name.substring(0, name.length() - "_ViewBinding".length());
+    }
+
+    BindingSet getParentBinding() {
+        return parentBinding;
+    }
+
+    /** The number of {@code @BindView} fields of this type, excluding its parents. */
+    int getViewFieldCount() {
+        int count = 0;
+        for (ViewBinding binding : viewBindings) {
+            if (binding.getFieldBinding() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** The number of view IDs which this type binds {@code @OnClick} methods to. */
+    int getClickIdCount() {
+        ListenerClass onClick = OnClick.class.getAnnotation(ListenerClass.class);
+        int count = 0;
+        for (ViewBinding binding : viewBindings) {
+            if (binding.getMethodBindings().containsKey(onClick)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * True when all bindings of this type can be described in a {@link BindingTableClass}: view
+     * fields of a non-generic type and {@code @OnClick} methods which take no parameter or the
+     * clicked view, without a parent binding.
+     */
+    boolean isTableEligible() {
+        if (parentBinding != null || !collectionBindings.isEmpty() || !resourceBindings.isEmpty()
+                || hasStubBindings()) {
+            return false;
+        }
+        ListenerClass onClick = OnClick.class.getAnnotation(ListenerClass.class);
+        for (ViewBinding binding : viewBindings) {
+            FieldViewBinding fieldBinding = binding.getFieldBinding();
+            if (fieldBinding != null && fieldBinding.getType() instanceof ParameterizedTypeName) {
+                return false;
+            }
+            Map<ListenerClass, Map<ListenerMethod, Set<MethodViewBinding>>> methodBindings =
+                    binding.getMethodBindings();
+            if (methodBindings.isEmpty()) {
+                continue;
+            }
+            if (methodBindings.size() != 1 || !methodBindings.containsKey(onClick)) {
+                return false;
+            }
+            for (Set<MethodViewBinding> methods : methodBindings.get(onClick).values()) {
+                for (MethodViewBinding method : methods) {
+                    for (Parameter parameter : method.getParameters()) {
+                        if (parameter.requiresCast(VIEW_TYPE)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Adds the bindings of this type to {@code table}. Requires {@link #isTableEligible()}. */
+    void addTo(BindingTableClass table) {
+        table.addTarget(targetTypeName);
+        for (ViewBinding binding : viewBindings) {
+            FieldViewBinding fieldBinding = binding.getFieldBinding();
+            TypeName fieldType = null;
+            CodeBlock setField = null;
+            if (fieldBinding != null) {
+                fieldType = fieldBinding.getType();
+                setField = VIEW.equals(fieldType)
+                        ? CodeBlock.of("(($T) target).$L = view;\n", targetTypeName,
+                        fieldBinding.getName())
+                        : CodeBlock.of("(($T) target).$L = ($T) view;\n", targetTypeName,
+                        fieldBinding.getName(), fieldType);
+            }
+
+            CodeBlock click = null;
+            Map<ListenerMethod, Set<MethodViewBinding>> clickBindings =
+                    binding.getMethodBindings().get(OnClick.class.getAnnotation(ListenerClass.class));
+            if (clickBindings != null) {
+                CodeBlock.Builder builder = CodeBlock.builder();
+                for (Set<MethodViewBinding> methods : clickBindings.values()) {
+                    for (MethodViewBinding method : methods) {
+                        builder.addStatement("(($T) target).$L($L)", targetTypeName, method.getName(),
+                                method.getParameters().isEmpty() ? "" : "view");
+                    }
+                }
+                click = builder.build();
+            }
+
+            List<MemberViewBinding> requiredBindings = binding.getRequiredBindings();
+            boolean required = !requiredBindings.isEmpty();
+            String description = required ? asHumanDescription(requiredBindings)
+                    : fieldBinding != null ? fieldBinding.getDescription() : null;
+            table.addBinding(binding.getId(), fieldType, required, description, setField, click);
+        }
+    }
+
+    /** Returns the required field into which this binding itself stores the view of {@code id}. */
+    FieldViewBinding findRequiredFieldBinding(Id id) {
+        for (ViewBinding binding : viewBindings) {
+            if (binding.getId().equals(id) && binding.getStubId() == null) {
+                FieldViewBinding fieldBinding = binding.getFieldBinding();
+                return fieldBinding != null && fieldBinding.isRequired() ? fieldBinding : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the work done by this binding's constructor, excluding that of its parent.
+     *
+     * @param supportClass 监听器是否由包内共享的监听器类实现，而不是匿名内部类
+     */
+    BindingCost getCost(boolean debuggable, boolean holderPaths, boolean supportClass) {
+        BindingCost cost = new BindingCost();
+        boolean byPath = getPathIds(holderPaths, debuggable) != null;
+        if (byPath) {
+            // One walk of PATHS finds every view, they are then read from the array it returns.
+            cost.pathLookups++;
+        }
+        for (ViewBinding binding : getImmediateViewBindings()) {
+            addCost(cost, binding, debuggable, byPath, supportClass);
+        }
+        // Views in a stub are bound when it inflates, the constructor only looks up the stub.
+        int stubs = getStubViewBindings().size();
+        cost.viewLookups += stubs;
+        cost.listenerClasses += stubs;
+        for (FieldCollectionViewBinding binding : collectionBindings) {
+            binding.addCost(cost, debuggable);
+        }
+        for (ResourceBinding binding : resourceBindings) {
+            cost.addResourceLoad(binding.kind());
+        }
+        return cost;
+    }
+
+    /** Returns the work done by this binding's constructor, including that of its parents. */
+    BindingCost getTotalCost(boolean debuggable, boolean holderPaths, boolean supportClass) {
+        BindingCost cost = getCost(debuggable, holderPaths, supportClass);
+        if (parentBinding != null) {
+            cost.add(parentBinding.getTotalCost(debuggable, holderPaths, supportClass));
+        }
+        return cost;
+    }
+
+    /**
+     * Mirrors the code emitted by {@link #addViewBinding}.
+     *
+     * @param byPath 视图是否从 {@code PATHS.find} 返回的数组中读取，而不是逐个查找
+     */
+    private static void addCost(BindingCost cost, ViewBinding binding, boolean debuggable,
+                                boolean byPath, boolean supportClass) {
+        FieldViewBinding fieldBinding = binding.getFieldBinding();
+        boolean inherited = binding.getInheritedField() != null;
+        if (binding.isSingleFieldBinding()) {
+            if (!inherited) {
+                if (!byPath) {
+                    cost.viewLookups++;
+                }
+                if (fieldBinding.isRequired()) {
+                    cost.requiredChecks++;
+                }
+            }
+            if (debuggable && requiresCast(fieldBinding.getType())) {
+                cost.castViews++;
+            }
+            return;
+        }
+
+        if (inherited) {
+            // Read from the field bound by the parent.
+        } else if (!debuggable) {
+            if (!binding.isBoundToRoot()) {
+                if (!byPath) {
+                    cost.viewLookups++;
+                }
+                if (!binding.getRequiredBindings().isEmpty()) {
+                    cost.requiredChecks++;
+                }
+            }
+        } else if (binding.getRequiredBindings().isEmpty()) {
+            cost.viewLookups++;
+        } else if (!binding.isBoundToRoot()) {
+            cost.viewLookups++;
+            cost.requiredChecks++;
+        }
+        if (debuggable && fieldBinding != null && requiresCast(fieldBinding.getType())) {
+            cost.castViews++;
+        }
+        if (supportClass) {
+            cost.sharedListeners += binding.getMethodBindings().size();
+        } else {
+            cost.listenerClasses += binding.getMethodBindings().size();
+        }
+    }
+
     private MethodSpec createBindingUnbindMethod(TypeSpec.Builder bindingClass) {
         MethodSpec.Builder result = MethodSpec.methodBuilder("unbind")
                 .addAnnotation(Override.class)
@@ -300,6 +766,16 @@ final class BindingSet {
             }
         }
 
+        if (hasStubBindings()) {
+            result.addCode("\n");
+            for (Id stubId : getStubViewBindings().keySet()) {
+                String fieldName = stubFieldName(stubId);
+                bindingClass.addField(VIEW_STUB_BINDER, fieldName, PRIVATE);
+                result.addStatement("$N.cancel()", fieldName);
+                result.addStatement("$N = null", fieldName);
+            }
+        }
+
         if (parentBinding != null) {
             result.addCode("\n");
             result.addStatement("super.unbind()");
@@ -322,8 +798,10 @@ final class BindingSet {
                         : "view" + Integer.toHexString(bindings.getId().value);
         result.addField(VIEW, fieldName, PRIVATE);
 
-        // We only need to emit the null check if there are zero required bindings.
-        boolean needsNullChecked = bindings.getRequiredBindings().isEmpty();
+        // We only need to emit the null check if there are zero required bindings, or if the view is
+        // in a stub which may never have been inflated.
+        boolean needsNullChecked =
+                bindings.getRequiredBindings().isEmpty() || bindings.getStubId() != null;
         if (needsNullChecked) {
             unbindMethod.beginControlFlow("if ($N != null)", fieldName);
         }
@@ -332,11 +810,17 @@ final class BindingSet {
             // We need to keep a reference to the listener
             // in case we need to unbind it via a remove method.
             boolean requiresRemoval = !"".equals(listenerClass.remover());
+            boolean coalesced = bindings.getDeliveryBinding(listenerClass).isCoalesced();
             String listenerField = "null";
             if (requiresRemoval) {
                 TypeName listenerClassName = bestGuess(listenerClass.type());
                 listenerField = fieldName + ((ClassName) listenerClassName).simpleName();
-                result.addField(listenerClassName, listenerField, PRIVATE);
+                result.addField(coalesced ? COALESCING_TEXT_WATCHER : listenerClassName, listenerField,
+                        PRIVATE);
+                if (coalesced) {
+                    // Drop any delivery which is still pending.
+                    unbindMethod.addStatement("$N.cancel()", listenerField);
+                }
             }
 
             if (!VIEW_TYPE.equals(listenerClass.targetType())) {
@@ -365,7 +849,8 @@ final class BindingSet {
                 : listenerClass.setter();
     }
 
-    private void addViewBinding(MethodSpec.Builder result, ViewBinding binding, boolean debuggable) {
+    private void addViewBinding(MethodSpec.Builder result, ViewBinding binding, boolean debuggable,
+                                boolean withListeners, List<Id> pathIds, SupportClass support) {
         if (binding.isSingleFieldBinding()) {
             // Optimize the common case where there's a single binding directly to a field.
             FieldViewBinding fieldBinding = binding.getFieldBinding();
@@ -373,11 +858,17 @@ final class BindingSet {
                     .add("target.$L = ", fieldBinding.getName());
 
             boolean requiresCast = requiresCast(fieldBinding.getType());
-            if (!debuggable || (!requiresCast && !fieldBinding.isRequired())) {
+            String inheritedField = binding.getInheritedField();
+            if (inheritedField != null && debuggable && requiresCast) {
+                builder.add("$T.castView(target.$L, $L, $S, $T.class)", UTILS, inheritedField,
+                        binding.getId().code, asHumanDescription(singletonList(fieldBinding)),
+                        fieldBinding.getRawType());
+            } else if (inheritedField != null || !debuggable
+                    || (!requiresCast && !fieldBinding.isRequired())) {
                 if (requiresCast) {
                     builder.add("($T) ", fieldBinding.getType());
                 }
-                builder.add("source.findViewById($L)", binding.getId().code);
+                builder.add("$L", findView(binding, pathIds));
             } else {
                 builder.add("$T.find", UTILS);
                 builder.add(fieldBinding.isRequired() ? "RequiredView" : "OptionalView");
@@ -397,16 +888,56 @@ final class BindingSet {
             return;
         }
 
+        if (!debuggable) {
+            // Look up directly into the field from which the listeners will be wired. The root view
+            // needs no lookup.
+            if (!binding.isBoundToRoot()) {
+                String fieldName = "view" + Integer.toHexString(binding.getId().value);
+                result.addStatement("$L = $L", fieldName, findView(binding, pathIds));
+                FieldViewBinding fieldBinding = binding.getFieldBinding();
+                if (fieldBinding != null) {
+                    if (requiresCast(fieldBinding.getType())) {
+                        result.addStatement("target.$L = ($T) $L", fieldBinding.getName(),
+                                fieldBinding.getType(), fieldName);
+                    } else {
+                        result.addStatement("target.$L = $L", fieldBinding.getName(), fieldName);
+                    }
+                }
+            }
+            return;
+        }
+
         List<MemberViewBinding> requiredBindings = binding.getRequiredBindings();
-        if (!debuggable || requiredBindings.isEmpty()) {
-            result.addStatement("view = source.findViewById($L)", binding.getId().code);
+        if (binding.getInheritedField() != null || requiredBindings.isEmpty()) {
+            result.addStatement("view = $L", findView(binding, pathIds));
         } else if (!binding.isBoundToRoot()) {
             result.addStatement("view = $T.findRequiredView(source, $L, $S)", UTILS,
                     binding.getId().code, asHumanDescription(requiredBindings));
         }
 
         addFieldBinding(result, binding, debuggable);
-        addMethodBindings(result, binding, debuggable);
+        if (withListeners) {
+            addMethodBindings(result, binding, debuggable, false, support);
+        } else if (!binding.getMethodBindings().isEmpty() && !binding.isBoundToRoot()) {
+            // Keep the view for wiring its listeners later.
+            result.addStatement("$L = view", "view" + Integer.toHexString(binding.getId().value));
+        }
+    }
+
+    /**
+     * Returns the expression which finds the view of {@code binding}. A parent binding which has
+     * already stored the view in a required field saves searching the hierarchy again, as does a
+     * view which {@code PATHS} has found.
+     */
+    private static CodeBlock findView(ViewBinding binding, List<Id> pathIds) {
+        String inheritedField = binding.getInheritedField();
+        if (inheritedField != null) {
+            return CodeBlock.of("target.$L", inheritedField);
+        }
+        if (pathIds != null) {
+            return CodeBlock.of("views[$L]", pathIds.indexOf(binding.getId()));
+        }
+        return CodeBlock.of("source.findViewById($L)", binding.getId().code);
     }
 
     private void addFieldBinding(MethodSpec.Builder result, ViewBinding binding, boolean debuggable) {
@@ -427,85 +958,68 @@ final class BindingSet {
         }
     }
 
+    /**
+     * @param fromField 为 true 时从之前保存的 view 字段中读取 view，而不是局部变量 view
+     */
     private void addMethodBindings(MethodSpec.Builder result, ViewBinding binding,
-                                   boolean debuggable) {
+                                   boolean debuggable, boolean fromField, SupportClass support) {
         Map<ListenerClass, Map<ListenerMethod, Set<MethodViewBinding>>> classMethodBindings =
                 binding.getMethodBindings();
         if (classMethodBindings.isEmpty()) {
             return;
         }
 
-        // We only need to emit the null check if there are zero required bindings.
-        boolean needsNullChecked = binding.getRequiredBindings().isEmpty();
-        if (needsNullChecked) {
-            result.beginControlFlow("if (view != null)");
-        }
-
         // Add the view reference to the binding.
         String fieldName = "viewSource";
         String bindName = "source";
         if (!binding.isBoundToRoot()) {
             fieldName = "view" + Integer.toHexString(binding.getId().value);
-            bindName = "view";
+            bindName = fromField ? fieldName : "view";
+        }
+
+        // We only need to emit the null check if there are zero required bindings.
+        boolean needsNullChecked = binding.getRequiredBindings().isEmpty();
+        if (needsNullChecked) {
+            result.beginControlFlow("if ($N != null)", bindName);
+        }
+
+        if (!fromField || binding.isBoundToRoot()) {
+            result.addStatement("$L = $N", fieldName, bindName);
         }
-        result.addStatement("$L = $N", fieldName, bindName);
 
         for (Map.Entry<ListenerClass, Map<ListenerMethod, Set<MethodViewBinding>>> e
                 : classMethodBindings.entrySet()) {
             ListenerClass listener = e.getKey();
             Map<ListenerMethod, Set<MethodViewBinding>> methodBindings = e.getValue();
 
-            TypeSpec.Builder callback = TypeSpec.anonymousClassBuilder("")
-                    .superclass(ClassName.bestGuess(listener.type()));
-
-            for (ListenerMethod method : getListenerMethods(listener)) {
-                MethodSpec.Builder callbackMethod = MethodSpec.methodBuilder(method.name())
-                        .addAnnotation(Override.class)
-                        .addModifiers(PUBLIC)
-                        .returns(bestGuess(method.returnType()));
-                String[] parameterTypes = method.parameters();
-                for (int i = 0, count = parameterTypes.length; i < count; i++) {
-                    callbackMethod.addParameter(bestGuess(parameterTypes[i]), "p" + i);
-                }
-
-                boolean hasReturnType = !"void".equals(method.returnType());
-                CodeBlock.Builder builder = CodeBlock.builder();
-                if (hasReturnType) {
-                    builder.add("return ");
+            CodeBlock callback;
+            if (support != null) {
+                // Dispatch through the listener class shared by all bindings of the package.
+                Map<ListenerMethod, CodeBlock> bodies = new LinkedHashMap<>();
+                TypeName rawTargetType = targetTypeName instanceof ParameterizedTypeName
+                        ? ((ParameterizedTypeName) targetTypeName).rawType : targetTypeName;
+                CodeBlock target = CodeBlock.of("(($T) target)", rawTargetType);
+                for (Map.Entry<ListenerMethod, Set<MethodViewBinding>> methodEntry
+                        : methodBindings.entrySet()) {
+                    bodies.put(methodEntry.getKey(), createCallbackBody(methodEntry.getKey(),
+                            methodEntry.getValue(), target, debuggable));
                 }
-
-                if (methodBindings.containsKey(method)) {
-                    for (MethodViewBinding methodBinding : methodBindings.get(method)) {
-                        builder.add("target.$L(", methodBinding.getName());
-                        List<Parameter> parameters = methodBinding.getParameters();
-                        String[] listenerParameters = method.parameters();
-                        for (int i = 0, count = parameters.size(); i < count; i++) {
-                            if (i > 0) {
-                                builder.add(", ");
-                            }
-
-                            Parameter parameter = parameters.get(i);
-                            int listenerPosition = parameter.getListenerPosition();
-
-                            if (parameter.requiresCast(listenerParameters[listenerPosition])) {
-                                if (debuggable) {
-                                    builder.add("$T.castParam(p$L, $S, $L, $S, $L, $T.class)", UTILS,
-                                            listenerPosition, method.name(), listenerPosition, methodBinding.getName(), i,
-                                            parameter.getType());
-                                } else {
-                                    builder.add("($T) p$L", parameter.getType(), listenerPosition);
-                                }
-                            } else {
-                                builder.add("p$L", listenerPosition);
-                            }
-                        }
-                        builder.add(");\n");
+                callback = CodeBlock.of("new $T($L, target)", support.getListenerClassName(listener),
+                        support.addCase(listener, bodies));
+            } else {
+                TypeSpec.Builder anonymous = TypeSpec.anonymousClassBuilder("")
+                        .superclass(ClassName.bestGuess(listener.type()));
+                for (ListenerMethod method : getListenerMethods(listener)) {
+                    MethodSpec.Builder callbackMethod = createCallbackMethod(method);
+                    if (methodBindings.containsKey(method)) {
+                        callbackMethod.addCode(createCallbackBody(method, methodBindings.get(method),
+                                CodeBlock.of("target"), debuggable));
+                    } else if (!"void".equals(method.returnType())) {
+                        callbackMethod.addStatement("return $L", method.defaultReturn());
                     }
-                } else if (hasReturnType) {
-                    builder.add("$L;\n", method.defaultReturn());
+                    anonymous.addMethod(callbackMethod.build());
                 }
-                callbackMethod.addCode(builder.build());
-                callback.addMethod(callbackMethod.build());
+                callback = CodeBlock.of("$L", anonymous.build());
             }
 
             boolean requiresRemoval = listener.remover().length() != 0;
@@ -513,15 +1027,24 @@ final class BindingSet {
             if (requiresRemoval) {
                 TypeName listenerClassName = bestGuess(listener.type());
                 listenerField = fieldName + ((ClassName) listenerClassName).simpleName();
-                result.addStatement("$L = $L", listenerField, callback.build());
+                MethodViewBinding delivery = binding.getDeliveryBinding(listener);
+                if (delivery.getDebounceMillis() > 0) {
+                    result.addStatement("$L = $T.debounce($L, $L)", listenerField,
+                            COALESCING_TEXT_WATCHER, callback, delivery.getDebounceMillis());
+                } else if (delivery.getThrottleMillis() > 0) {
+                    result.addStatement("$L = $T.throttle($L, $L)", listenerField,
+                            COALESCING_TEXT_WATCHER, callback, delivery.getThrottleMillis());
+                } else {
+                    result.addStatement("$L = $L", listenerField, callback);
+                }
             }
 
             if (!VIEW_TYPE.equals(listener.targetType())) {
                 result.addStatement("(($T) $N).$L($L)", bestGuess(listener.targetType()), bindName,
-                        listener.setter(), requiresRemoval ? listenerField : callback.build());
+                        listener.setter(), requiresRemoval ? listenerField : callback);
             } else {
                 result.addStatement("$N.$L($L)", bindName, listener.setter(),
-                        requiresRemoval ? listenerField : callback.build());
+                        requiresRemoval ? listenerField : callback);
             }
         }
 
@@ -530,28 +1053,60 @@ final class BindingSet {
         }
     }
 
-    private static List<ListenerMethod> getListenerMethods(ListenerClass listener) {
-        if (listener.method().length == 1) {
-            return Arrays.asList(listener.method());
+    static MethodSpec.Builder createCallbackMethod(ListenerMethod method) {
+        MethodSpec.Builder callbackMethod = MethodSpec.methodBuilder(method.name())
+                .addAnnotation(Override.class)
+                .addModifiers(PUBLIC)
+                .returns(bestGuess(method.returnType()));
+        String[] parameterTypes = method.parameters();
+        for (int i = 0, count = parameterTypes.length; i < count; i++) {
+            callbackMethod.addParameter(bestGuess(parameterTypes[i]), "p" + i);
         }
+        return callbackMethod;
+    }
 
-        try {
-            List<ListenerMethod> methods = new ArrayList<>();
-            Class<? extends Enum<?>> callbacks = listener.callbacks();
-            for (Enum<?> callbackMethod : callbacks.getEnumConstants()) {
-                Field callbackField = callbacks.getField(callbackMethod.name());
-                ListenerMethod method = callbackField.getAnnotation(ListenerMethod.class);
-                if (method == null) {
-                    throw new IllegalStateException(String.format("@%s's %s.%s missing @%s annotation.",
-                            callbacks.getEnclosingClass().getSimpleName(), callbacks.getSimpleName(),
-                            callbackMethod.name(), ListenerMethod.class.getSimpleName()));
+    /**
+     * Returns the statements which invoke {@code methodBindings} on {@code target} from the
+     * listener {@code method}, returning the result if it has a return type.
+     */
+    private static CodeBlock createCallbackBody(ListenerMethod method,
+                                                Set<MethodViewBinding> methodBindings,
+                                                CodeBlock target, boolean debuggable) {
+        CodeBlock.Builder builder = CodeBlock.builder();
+        if (!"void".equals(method.returnType())) {
+            builder.add("return ");
+        }
+        for (MethodViewBinding methodBinding : methodBindings) {
+            builder.add("$L.$L(", target, methodBinding.getName());
+            List<Parameter> parameters = methodBinding.getParameters();
+            String[] listenerParameters = method.parameters();
+            for (int i = 0, count = parameters.size(); i < count; i++) {
+                if (i > 0) {
+                    builder.add(", ");
+                }
+
+                Parameter parameter = parameters.get(i);
+                int listenerPosition = parameter.getListenerPosition();
+
+                if (parameter.requiresCast(listenerParameters[listenerPosition])) {
+                    if (debuggable) {
+                        builder.add("$T.castParam(p$L, $S, $L, $S, $L, $T.class)", UTILS,
+                                listenerPosition, method.name(), listenerPosition, methodBinding.getName(), i,
+                                parameter.getType());
+                    } else {
+                        builder.add("($T) p$L", parameter.getType(), listenerPosition);
+                    }
+                } else {
+                    builder.add("p$L", listenerPosition);
                 }
-                methods.add(method);
             }
-            return methods;
-        } catch (NoSuchFieldException e) {
-            throw new AssertionError(e);
+            builder.add(");\n");
         }
+        return builder.build();
+    }
+
+    static List<ListenerMethod> getListenerMethods(ListenerClass listener) {
+        return ListenerDescriptor.methodsOf(listener);
     }
 
     static String asHumanDescription(Collection<? extends MemberViewBinding> bindings) {
@@ -576,7 +1131,7 @@ final class BindingSet {
         }
     }
 
-    private static TypeName bestGuess(String type) {
+    static TypeName bestGuess(String type) {
         switch (type) {
             case "void":
                 return TypeName.VOID;
@@ -644,6 +1199,10 @@ final class BindingSet {
     }
 
     private boolean hasMethodBindings() {
+        return hasMethodBindings(viewBindings);
+    }
+
+    private static boolean hasMethodBindings(List<ViewBinding> viewBindings) {
         for (ViewBinding bindings : viewBindings) {
             if (!bindings.getMethodBindings().isEmpty()) {
                 return true;
@@ -652,6 +1211,15 @@ final class BindingSet {
         return false;
     }
 
+    private boolean hasStubBindings() {
+        for (ViewBinding bindings : viewBindings) {
+            if (bindings.getStubId() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean hasOnTouchMethodBindings() {
         for (ViewBinding bindings : viewBindings) {
             if (bindings.getMethodBindings()
@@ -675,7 +1243,7 @@ final class BindingSet {
         return hasFieldBindings() || hasMethodBindings();
     }
 
-    private boolean hasViewLocal() {
+    private static boolean hasViewLocal(List<ViewBinding> viewBindings) {
         for (ViewBinding bindings : viewBindings) {
             if (bindings.requiresLocal()) {
                 return true;
@@ -701,13 +1269,10 @@ final class BindingSet {
         return bindingClassName.toString();
     }
 
-    static Builder newBuilder(TypeElement enclosingElement) {
+    static Builder newBuilder(TypeElement enclosingElement, boolean isView, boolean isActivity,
+                              boolean isDialog) {
         TypeMirror typeMirror = enclosingElement.asType();
 
-        boolean isView = isSubtypeOfType(typeMirror, VIEW_TYPE);
-        boolean isActivity = isSubtypeOfType(typeMirror, ACTIVITY_TYPE);
-        boolean isDialog = isSubtypeOfType(typeMirror, DIALOG_TYPE);
-
         TypeName targetType = TypeName.get(typeMirror);
         if (targetType instanceof ParameterizedTypeName) {
             targetType = ((ParameterizedTypeName) targetType).rawType;
@@ -768,6 +1333,11 @@ final class BindingSet {
             return true;
         }
 
+        boolean hasConflictingDelivery(Id id, ListenerClass listener, MethodViewBinding binding) {
+            ViewBinding.Builder viewBinding = viewIdMap.get(id);
+            return viewBinding != null && viewBinding.hasConflictingDelivery(listener, binding);
+        }
+
         void addResource(ResourceBinding binding) {
             resourceBindings.add(binding);
         }
@@ -776,6 +1346,27 @@ final class BindingSet {
             this.parentBinding = parent;
         }
 
+        /** Returns the IDs of views which are not in a {@code ViewStub}. */
+        Set<Id> getImmediateViewIds() {
+            Set<Id> ids = new LinkedHashSet<>();
+            for (Map.Entry<Id, ViewBinding.Builder> entry : viewIdMap.entrySet()) {
+                if (entry.getValue().stubId == null) {
+                    ids.add(entry.getKey());
+                }
+            }
+            return ids;
+        }
+
+        /** Defers the binding of {@code id} until the {@code ViewStub} {@code stubId} inflates. */
+        void setStub(Id id, Id stubId) {
+            viewIdMap.get(id).setStubId(stubId);
+        }
+
+        /** Reads the view of {@code id} from a field which a parent binding has already bound. */
+        void setInheritedField(Id id, String name) {
+            viewIdMap.get(id).setInheritedField(name);
+        }
+
         String findExistingBindingName(Id id) {
             ViewBinding.Builder builder = viewIdMap.get(id);
             if (builder == null) {
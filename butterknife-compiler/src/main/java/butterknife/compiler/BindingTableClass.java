@@ -0,0 +1,173 @@
+package butterknife.compiler;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import java.util.ArrayList;
+import java.util.List;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PROTECTED;
+import static javax.lang.model.element.Modifier.PUBLIC;
+
+/**
+ * Collects the bindings of every table-eligible target in a package into one
+ * {@code butterknife.BindingTable}. The table lists each view binding in parallel arrays and
+ * assigns fields and invokes click methods through two generated switches, so its targets need no
+ * binding class of their own.
+ */
+final class BindingTableClass {
+  private static final ClassName BINDING_TABLE = ClassName.get("butterknife", "BindingTable");
+  private static final ClassName VIEW = ClassName.get("android.view", "View");
+  private static final TypeName ANY_CLASS = ParameterizedTypeName.get(ClassName.get(Class.class),
+      WildcardTypeName.subtypeOf(Object.class));
+
+  private final ClassName className;
+  private final List<TypeName> targets = new ArrayList<>();
+  private final List<Integer> offsets = new ArrayList<>();
+  private final List<Binding> bindings = new ArrayList<>();
+
+  BindingTableClass(ClassName className) {
+    this.className = className;
+  }
+
+  ClassName getClassName() {
+    return className;
+  }
+
+  /** Starts the bindings of {@code target}. Following calls to {@link #addBinding} belong to it. */
+  void addTarget(TypeName target) {
+    targets.add(target);
+    offsets.add(bindings.size());
+  }
+
+  /**
+   * @param fieldType the type of the bound field, or null if the view has only click methods
+   * @param setField the statements which assign {@code view} to the field, if there is one
+   * @param click the statements which invoke the click methods, or null if there are none
+   */
+  void addBinding(Id id, TypeName fieldType, boolean required, String description,
+      CodeBlock setField, CodeBlock click) {
+    bindings.add(new Binding(id, fieldType, required, description, setField, click));
+  }
+
+  JavaFile brewJava() {
+    CodeBlock.Builder targetArray = CodeBlock.builder();
+    for (int i = 0; i < targets.size(); i++) {
+      targetArray.add(i == 0 ? "$T.class" : ", $T.class", targets.get(i));
+    }
+    CodeBlock.Builder offsetArray = CodeBlock.builder();
+    for (int i = 0; i < offsets.size(); i++) {
+      offsetArray.add(i == 0 ? "$L" : ", $L", offsets.get(i));
+    }
+    offsetArray.add(", $L", bindings.size());
+
+    CodeBlock.Builder idArray = CodeBlock.builder();
+    CodeBlock.Builder typeArray = CodeBlock.builder();
+    CodeBlock.Builder flagArray = CodeBlock.builder();
+    CodeBlock.Builder descriptionArray = CodeBlock.builder();
+    MethodSpec.Builder setField = createAccessor("setField");
+    MethodSpec.Builder click = createAccessor("click");
+    boolean hasFields = false;
+    boolean hasClicks = false;
+    for (int i = 0; i < bindings.size(); i++) {
+      Binding binding = bindings.get(i);
+      String separator = i == 0 ? "" : ", ";
+      idArray.add(separator).add(binding.id.value == ButterKnifeProcessor.NO_ID.value
+          ? CodeBlock.of("$T.NO_ID", VIEW) : binding.id.code);
+      typeArray.add(separator).add(binding.fieldType == null
+          ? CodeBlock.of("null") : CodeBlock.of("$T.class", binding.fieldType));
+      flagArray.add(separator).add(createFlags(binding));
+      descriptionArray.add(separator).add(binding.description == null
+          ? CodeBlock.of("null") : CodeBlock.of("$S", binding.description));
+
+      if (binding.setField != null) {
+        if (!hasFields) {
+          setField.beginControlFlow("switch (binding)");
+          hasFields = true;
+        }
+        setField.addCode("case $L:\n$>", i).addCode(binding.setField).addStatement("break")
+            .addCode("$<");
+      }
+      if (binding.click != null) {
+        if (!hasClicks) {
+          click.beginControlFlow("switch (binding)");
+          hasClicks = true;
+        }
+        click.addCode("case $L:\n$>", i).addCode(binding.click).addStatement("break")
+            .addCode("$<");
+      }
+    }
+
+    TypeSpec.Builder result = TypeSpec.classBuilder(className)
+        .addModifiers(PUBLIC, FINAL)
+        .superclass(BINDING_TABLE)
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(PUBLIC)
+            .addStatement("super(new $T[] {$L},\n"
+                    + "new int[] {$L},\n"
+                    + "new int[] {$L},\n"
+                    + "new $T[] {$L},\n"
+                    + "new int[] {$L},\n"
+                    + "new $T[] {$L})",
+                ANY_CLASS, targetArray.build(), offsetArray.build(), idArray.build(),
+                ANY_CLASS, typeArray.build(), flagArray.build(), String.class,
+                descriptionArray.build())
+            .build());
+    if (hasFields) {
+      result.addMethod(setField.endControlFlow().build());
+    }
+    if (hasClicks) {
+      result.addMethod(click.endControlFlow().build());
+    }
+    return JavaFile.builder(className.packageName(), result.build())
+        .addFileComment("Generated code from Butter Knife. Do not modify!")
+        .build();
+  }
+
+  private static MethodSpec.Builder createAccessor(String name) {
+    return MethodSpec.methodBuilder(name)
+        .addAnnotation(Override.class)
+        .addModifiers(PROTECTED)
+        .addParameter(int.class, "binding")
+        .addParameter(Object.class, "target")
+        .addParameter(VIEW, "view");
+  }
+
+  private static CodeBlock createFlags(Binding binding) {
+    if (binding.required && binding.click != null) {
+      return CodeBlock.of("REQUIRED | CLICK");
+    }
+    if (binding.required) {
+      return CodeBlock.of("REQUIRED");
+    }
+    if (binding.click != null) {
+      return CodeBlock.of("CLICK");
+    }
+    return CodeBlock.of("0");
+  }
+
+  private static final class Binding {
+    final Id id;
+    final TypeName fieldType;
+    final boolean required;
+    final String description;
+    final CodeBlock setField;
+    final CodeBlock click;
+
+    Binding(Id id, TypeName fieldType, boolean required, String description, CodeBlock setField,
+        CodeBlock click) {
+      this.id = id;
+      this.fieldType = fieldType;
+      this.required = required;
+      this.description = description;
+      this.setField = setField;
+      this.click = click;
+    }
+  }
+}
@@ -44,9 +44,8 @@ import com.sun.tools.javac.tree.TreeScanner;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -55,6 +54,7 @@ import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -79,9 +79,12 @@ import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.type.TypeVariable;
+import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
 
 import static javax.lang.model.element.ElementKind.CLASS;
 import static javax.lang.model.element.ElementKind.INTERFACE;
@@ -94,6 +97,21 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
     // TODO remove when http://b.android.com/187527 is released.
     private static final String OPTION_SDK_INT = "butterknife.minSdk";
     private static final String OPTION_DEBUGGABLE = "butterknife.debuggable";
+    private static final String OPTION_TRACE = "butterknife.trace";
+    private static final String OPTION_COST_REPORT = "butterknife.costReport";
+    private static final String OPTION_HOLDER_PATHS = "butterknife.holderPaths";
+    private static final String OPTION_SUPPORT_CLASS = "butterknife.supportClass";
+    private static final String SUPPORT_CLASS_NAME = "ButterKnifeSupport";
+    private static final String OPTION_BINDING_TABLE = "butterknife.bindingTable";
+    private static final String BINDING_TABLE_NAME = "ButterKnifeBindingTable";
+    private static final String OPTION_MAX_VIEW_FIELDS = "butterknife.maxViewFields";
+    private static final String OPTION_MAX_CLICK_IDS = "butterknife.maxClickIds";
+    private static final String OPTION_INDEX_MODULE = "butterknife.indexModule";
+    private static final String OPTION_AGGREGATE_INDEX = "butterknife.aggregateIndex";
+    private static final List<String> VIEW_HOLDER_TYPES = Arrays.asList(
+            "android.support.v7.widget.RecyclerView.ViewHolder",
+            "androidx.recyclerview.widget.RecyclerView.ViewHolder"
+    );
     static final Id NO_ID = new Id(-1);
     static final String VIEW_TYPE = "android.view.View";
     static final String ACTIVITY_TYPE = "android.app.Activity";
@@ -107,7 +125,7 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
     private static final String NULLABLE_ANNOTATION_NAME = "Nullable";
     private static final String STRING_TYPE = "java.lang.String";
     private static final String LIST_TYPE = List.class.getCanonicalName();
-    private static final List<Class<? extends Annotation>> LISTENERS = Arrays.asList(//
+    static final List<Class<? extends Annotation>> LISTENERS = Arrays.asList(//
             OnCheckedChanged.class, //
             OnClick.class, //
             OnEditorAction.class, //
@@ -132,8 +150,28 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
 
     private int sdk = 1;
     private boolean debuggable = true;
-
-    private final Map<QualifiedId, Id> symbols = new LinkedHashMap<>();
+    private boolean trace = false;
+    private BindingCostReport costReport; // 为 null 表示不生成绑定开销报告
+    private boolean holderPaths = false;
+    private boolean supportClass = false;
+    private boolean bindingTable = false;
+    // 每个包已经写出的共享类（ButterKnifeSupport、ButterKnifeBindingTable）的个数，
+    // 后续轮次的类名依次加上序号以免重名
+    private final Map<ClassName, Integer> generatedClassCounts = new LinkedHashMap<>();
+    private int maxViewFields = 50; // 单个目标类 @BindView 字段个数超过该值时给出警告
+    private int maxClickIds = 20; // 单个目标类 @OnClick 的 ID 个数超过该值时给出警告
+    private String indexModule; // 为 null 表示不生成本 module 的绑定索引
+    private BindingIndexClass moduleIndex; // 本轮生成了绑定类的目标类
+    private BindingIndexClass applicationIndex; // 为 null 表示不生成整个应用的绑定索引
+    private boolean applicationIndexWritten = false;
+
+    private final SymbolTable symbols = new SymbolTable();
+
+    // 类型层次查询的结果在每轮处理中不会变化，每轮开始时清空
+    // 类型元素 -> (目标类型名 -> 是否为其子类)
+    private final Map<TypeElement, Map<String, Boolean>> subtypeCache = new HashMap<>();
+    // 类型元素 -> 最近的有绑定的父类，没有时为 null
+    private final Map<TypeElement, TypeElement> parentTypeCache = new HashMap<>();
 
     @Override
     public synchronized void init(ProcessingEnvironment env) {
@@ -156,6 +194,30 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
 
         // 取到 OPTION_DEBUGGABLE 的值
         debuggable = !"false".equals(env.getOptions().get(OPTION_DEBUGGABLE));
+        // 取到 OPTION_TRACE 的值，默认不插入 Trace section
+        trace = "true".equals(env.getOptions().get(OPTION_TRACE));
+        // 取到 OPTION_COST_REPORT 的值，开启后在最后一轮输出每个绑定类的开销报告
+        if ("true".equals(env.getOptions().get(OPTION_COST_REPORT))) {
+            costReport = new BindingCostReport();
+        }
+        // 取到 OPTION_HOLDER_PATHS 的值，开启后非 debuggable 构建中 ViewHolder 类型的目标按缓存的子节点索引路径查找视图
+        holderPaths = "true".equals(env.getOptions().get(OPTION_HOLDER_PATHS));
+        // 取到 OPTION_SUPPORT_CLASS 的值，开启后同一个包中的监听器共用 ButterKnifeSupport 中的监听器类
+        supportClass = "true".equals(env.getOptions().get(OPTION_SUPPORT_CLASS));
+        // 取到 OPTION_BINDING_TABLE 的值，开启后只有 @BindView 和 @OnClick 的目标类由运行时按表绑定
+        bindingTable = "true".equals(env.getOptions().get(OPTION_BINDING_TABLE));
+        // 取到过大绑定的警告阈值
+        maxViewFields = parseThreshold(env, OPTION_MAX_VIEW_FIELDS, maxViewFields);
+        maxClickIds = parseThreshold(env, OPTION_MAX_CLICK_IDS, maxClickIds);
+        // 取到 OPTION_INDEX_MODULE 的值，开启后每轮在 butterknife.index 包中列出本 module 生成了绑定类的目标类
+        indexModule = env.getOptions().get(OPTION_INDEX_MODULE);
+        if (indexModule != null) {
+            moduleIndex = new BindingIndexClass();
+        }
+        // 取到 OPTION_AGGREGATE_INDEX 的值，开启后把 classpath 上所有 module 的索引合并成一个
+        if ("true".equals(env.getOptions().get(OPTION_AGGREGATE_INDEX))) {
+            applicationIndex = new BindingIndexClass();
+        }
 
         elementUtils = env.getElementUtils();
         typeUtils = env.getTypeUtils();
@@ -169,11 +231,31 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         }
     }
 
+    private static int parseThreshold(ProcessingEnvironment env, String option, int defaultValue) {
+        String value = env.getOptions().get(option);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            env.getMessager()
+                    .printMessage(Kind.WARNING, "Unable to parse supplied " + option + " option '"
+                            + value
+                            + "'. Falling back to "
+                            + defaultValue
+                            + ".");
+            return defaultValue;
+        }
+    }
+
     @Override
     public Set<String> getSupportedOptions() {
-        // 返回一个由 OPTION_SDK_INT 和 OPTION_DEBUGGABLE 组成的不可变的 Set
+        // 返回一个由所有支持的选项组成的不可变的 Set
         // 这是为了增强 processor 的功能，我们可以自定义需要的值来进行解析
-        return ImmutableSet.of(OPTION_SDK_INT, OPTION_DEBUGGABLE);
+        return ImmutableSet.of(OPTION_SDK_INT, OPTION_DEBUGGABLE, OPTION_TRACE, OPTION_COST_REPORT,
+                OPTION_HOLDER_PATHS, OPTION_SUPPORT_CLASS, OPTION_BINDING_TABLE, OPTION_MAX_VIEW_FIELDS,
+                OPTION_MAX_CLICK_IDS, OPTION_INDEX_MODULE, OPTION_AGGREGATE_INDEX);
     }
 
     @Override
@@ -186,6 +268,10 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         for (Class<? extends Annotation> annotation : getSupportedAnnotations()) {
             types.add(annotation.getCanonicalName());
         }
+        // 应用 module 中可能没有任何绑定，仍然需要在最后一轮合并其它 module 的索引
+        if (applicationIndex != null) {
+            types.add("*");
+        }
         return types;
     }
 
@@ -223,28 +309,172 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
     @Override
     public boolean process(Set<? extends TypeElement> elements, RoundEnvironment env) {
         Map<TypeElement, BindingSet> bindingMap = findAndParseTargets(env);
+        // 包名 -> 该包中所有绑定类共享的监听器类，目标类的方法是包内可见的，所以每个包各生成一个
+        Map<String, SupportClass> supportClasses = new LinkedHashMap<>();
+        // 包名 -> 该包中按表绑定的目标类，同样因为字段和方法是包内可见的而每个包各生成一个
+        Map<String, BindingTableClass> bindingTables = new LinkedHashMap<>();
+        // 被子类的绑定类继承的绑定必须保留生成的绑定类
+        Set<BindingSet> parentBindings = new LinkedHashSet<>();
+        for (BindingSet binding : bindingMap.values()) {
+            if (binding.getParentBinding() != null) {
+                parentBindings.add(binding.getParentBinding());
+            }
+        }
 
         // Entry 为 Map 中的一个实体，包含键值对
         for (Map.Entry<TypeElement, BindingSet> entry : bindingMap.entrySet()) {
             // typeElement 主要是用来打印错误信息，我们真正需要的是 binding，我们用它来生成 Java 文件
             TypeElement typeElement = entry.getKey();
             BindingSet binding = entry.getValue();
+            checkBindingSize(typeElement, binding);
+
+            if (bindingTable && binding.isTableEligible() && !parentBindings.contains(binding)) {
+                // 由绑定表完成绑定，不生成 _ViewBinding，因此也不计入成本报告
+                BindingTableClass table = bindingTables.get(binding.getPackageName());
+                if (table == null) {
+                    table = new BindingTableClass(
+                            nextGeneratedClassName(binding.getPackageName(), BINDING_TABLE_NAME));
+                    bindingTables.put(binding.getPackageName(), table);
+                }
+                binding.addTo(table);
+            } else {
+                // 根据 BindingSet 来生成对应的  JavaFile(它是 JavaPoet 里的类)，进而再生成 Java 文件
+                SupportClass support = null;
+                if (supportClass) {
+                    support = supportClasses.get(binding.getPackageName());
+                    if (support == null) {
+                        support = new SupportClass(
+                                nextGeneratedClassName(binding.getPackageName(), SUPPORT_CLASS_NAME),
+                                elementUtils);
+                        supportClasses.put(binding.getPackageName(), support);
+                    }
+                }
+                JavaFile javaFile = binding.brewJava(sdk, debuggable, trace, holderPaths, support);
+                try {
+                    javaFile.writeTo(filer);
+                } catch (IOException e) {
+                    error(typeElement, "Unable to write binding for type %s: %s", typeElement,
+                            e.getMessage());
+                }
+                String binaryName = elementUtils.getBinaryName(typeElement).toString();
+                if (moduleIndex != null) {
+                    moduleIndex.addTarget(binaryName);
+                }
+                if (applicationIndex != null) {
+                    applicationIndex.addTarget(binaryName);
+                }
 
-            // 根据 BindingSet 来生成对应的  JavaFile(它是 JavaPoet 里的类)，进而再生成 Java 文件
-            JavaFile javaFile = binding.brewJava(sdk, debuggable);
-            try {
-                javaFile.writeTo(filer);
-            } catch (IOException e) {
-                error(typeElement, "Unable to write binding for type %s: %s", typeElement, e.getMessage());
+                if (costReport != null) {
+                    BindingSet parentBinding = binding.getParentBinding();
+                    costReport.add(binding.getTargetName(),
+                            binding.getCost(debuggable, holderPaths, supportClass),
+                            parentBinding != null ? parentBinding.getTargetName() : null,
+                            parentBinding != null ? parentBinding.getTotalCost(debuggable,
+                                    holderPaths, supportClass) : null);
+                }
             }
         }
 
+        for (SupportClass support : supportClasses.values()) {
+            if (!support.isEmpty()) {
+                writeGeneratedClass(support.getClassName().packageName(), SUPPORT_CLASS_NAME,
+                        support.brewJava());
+            }
+        }
+        for (BindingTableClass table : bindingTables.values()) {
+            writeGeneratedClass(table.getClassName().packageName(), BINDING_TABLE_NAME,
+                    table.brewJava());
+        }
+
+        if (moduleIndex != null && !moduleIndex.isEmpty()) {
+            String simpleName = "BindingIndex_" + BindingIndexClass.toIdentifier(indexModule);
+            writeGeneratedClass(BindingIndexClass.PACKAGE, simpleName, moduleIndex.brewModuleIndex(
+                    nextGeneratedClassName(BindingIndexClass.PACKAGE, simpleName)));
+            moduleIndex.clear();
+        }
+        // 在第一个没有新的目标类的轮次中合并本 module 和 classpath 上其它 module 的绑定索引。
+        // 最后一轮生成的文件会被 javac 警告，所以不等到最后一轮
+        if (applicationIndex != null) {
+            if (bindingMap.isEmpty() && !applicationIndexWritten) {
+                applicationIndex.addModuleTargets(elementUtils);
+                writeGeneratedClass(BindingIndexClass.PACKAGE, BindingIndexClass.AGGREGATE_NAME,
+                        applicationIndex.brewAggregateIndex(elementUtils));
+                applicationIndexWritten = true;
+            } else if (!bindingMap.isEmpty() && applicationIndexWritten) {
+                for (TypeElement typeElement : bindingMap.keySet()) {
+                    error(typeElement, "%s was found after the binding index was generated. (%s)",
+                            typeElement.getQualifiedName(), OPTION_AGGREGATE_INDEX);
+                }
+            }
+        }
+
+        // 所有轮次结束后，一次性写出整个 module 的绑定开销报告
+        if (costReport != null && env.processingOver() && !costReport.isEmpty()) {
+            writeCostReport();
+        }
+
         return false;
     }
 
+    /**
+     * 目标类的绑定过多时给出警告，绑定耗时和生成的类的大小都随之增长
+     */
+    private void checkBindingSize(TypeElement typeElement, BindingSet binding) {
+        int viewFields = binding.getViewFieldCount();
+        if (viewFields > maxViewFields) {
+            warning(typeElement, "%s binds %d fields with @%s, more than %d. Consider splitting it "
+                            + "or binding rarely shown views lazily, for example from a ViewStub. (%s)",
+                    typeElement.getQualifiedName(), viewFields, BindView.class.getSimpleName(),
+                    maxViewFields, OPTION_MAX_VIEW_FIELDS);
+        }
+        int clickIds = binding.getClickIdCount();
+        if (clickIds > maxClickIds) {
+            warning(typeElement, "%s binds @%s on %d IDs, more than %d. Each ID gets its own listener "
+                            + "class. Consider one method for several IDs or the %s option. (%s)",
+                    typeElement.getQualifiedName(), OnClick.class.getSimpleName(), clickIds,
+                    maxClickIds, OPTION_SUPPORT_CLASS, OPTION_MAX_CLICK_IDS);
+        }
+    }
+
+    /**
+     * 返回本轮在 packageName 中生成的 simpleName 类的类名，之前的轮次已经写出过时加上序号
+     */
+    private ClassName nextGeneratedClassName(String packageName, String simpleName) {
+        Integer count = generatedClassCounts.get(ClassName.get(packageName, simpleName));
+        return ClassName.get(packageName, count == null ? simpleName : simpleName + (count + 1));
+    }
+
+    private void writeGeneratedClass(String packageName, String simpleName, JavaFile javaFile) {
+        ClassName baseName = ClassName.get(packageName, simpleName);
+        Integer count = generatedClassCounts.get(baseName);
+        generatedClassCounts.put(baseName, count == null ? 1 : count + 1);
+        try {
+            javaFile.writeTo(filer);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR,
+                    "Unable to write " + javaFile.packageName + "." + javaFile.typeSpec.name + ": "
+                            + e.getMessage());
+        }
+    }
+
+    private void writeCostReport() {
+        try {
+            FileObject file = filer.createResource(StandardLocation.SOURCE_OUTPUT,
+                    BindingCostReport.PACKAGE, BindingCostReport.FILE_NAME);
+            try (Writer writer = file.openWriter()) {
+                writer.write(costReport.toJson());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR,
+                    "Unable to write binding cost report: " + e.getMessage());
+        }
+    }
+
     private Map<TypeElement, BindingSet> findAndParseTargets(RoundEnvironment env) {
         Map<TypeElement, BindingSet.Builder> builderMap = new LinkedHashMap<>();
         Set<TypeElement> erasedTargetNames = new LinkedHashSet<>();
+        subtypeCache.clear();
+        parentTypeCache.clear();
 
         scanForRClasses(env); // 扫描R类,获取所有的需要处理的资源的信息
 
@@ -403,6 +633,7 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
                 BindingSet parentBinding = bindingMap.get(parentType);
                 if (parentBinding != null) {
                     builder.setParent(parentBinding);
+                    findInheritedViews(type, builder, bindingMap, erasedTargetNames);
                     bindingMap.put(type, builder.build());
                 } else {
                     // Has a superclass binding but we haven't built it yet. Re-enqueue for later.
@@ -414,6 +645,54 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         return bindingMap;
     }
 
+    /**
+     * Marks the IDs of {@code type} which one of its parent bindings already stores in a required
+     * field so that the view is read from that field rather than looked up again. The field must be
+     * a {@code View} in the same package and must not be hidden by a field of a subclass.
+     */
+    private void findInheritedViews(TypeElement type, BindingSet.Builder builder,
+                                    Map<TypeElement, BindingSet> bindingMap,
+                                    Set<TypeElement> erasedTargetNames) {
+        PackageElement packageElement = elementUtils.getPackageOf(type);
+        for (Id id : builder.getImmediateViewIds()) {
+            if (NO_ID.equals(id)) {
+                continue;
+            }
+            TypeElement parentType = findParentType(type, erasedTargetNames);
+            while (parentType != null) {
+                FieldViewBinding fieldBinding = bindingMap.get(parentType).findRequiredFieldBinding(id);
+                if (fieldBinding != null) {
+                    if (packageElement.equals(elementUtils.getPackageOf(parentType))
+                            && isInheritedView(type, parentType, fieldBinding.getName())) {
+                        builder.setInheritedField(id, fieldBinding.getName());
+                    }
+                    break;
+                }
+                parentType = findParentType(parentType, erasedTargetNames);
+            }
+        }
+    }
+
+    private boolean isInheritedView(TypeElement type, TypeElement parentType, String name) {
+        while (!type.equals(parentType)) {
+            if (findField(type, name) != null) {
+                return false;
+            }
+            type = (TypeElement) typeUtils.asElement(type.getSuperclass());
+        }
+        VariableElement field = findField(parentType, name);
+        return field != null && isSubtypeOfType(field.asType(), VIEW_TYPE);
+    }
+
+    private static VariableElement findField(TypeElement type, String name) {
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getSimpleName().contentEquals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
     private void logParsingError(Element element, Class<? extends Annotation> annotation,
                                  Exception e) {
         StringWriter stackTrace = new StringWriter();
@@ -519,13 +798,18 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         // Assemble information on the field.
         // 获取 @BindView 注解中输入的资源的 Id
         int id = element.getAnnotation(BindView.class).value();
+        int stub = element.getAnnotation(BindView.class).stub();
+        if (stub == id) {
+            error(element, "@%s view ID %d must differ from its stub ID. (%s.%s)",
+                    BindView.class.getSimpleName(), id, qualifiedName, simpleName);
+            return;
+        }
 
         // 将 TypeElement 传进去
         BindingSet.Builder builder = builderMap.get(enclosingElement);
-        QualifiedId qualifiedId = elementToQualifiedId(element, id);
         if (builder != null) {
             // 查看是否存在重复绑定的 ID
-            String existingBindingName = builder.findExistingBindingName(getId(qualifiedId));
+            String existingBindingName = builder.findExistingBindingName(getId(element, id));
             if (existingBindingName != null) {
                 error(element, "Attempt to use @%s for an already bound ID %d on '%s'. (%s.%s)",
                         BindView.class.getSimpleName(), id, existingBindingName,
@@ -540,14 +824,18 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         TypeName type = TypeName.get(elementType);
         boolean required = isFieldRequired(element);
 
-        builder.addField(getId(qualifiedId), new FieldViewBinding(name, type, required));
+        builder.addField(getId(element, id), new FieldViewBinding(name, type, required));
+        if (stub != NO_ID.value) {
+            // 视图位于 ViewStub 中，等到 ViewStub 被 inflate 之后再绑定
+            builder.setStub(getId(element, id), getId(element, stub));
+        }
 
         // Add the type-erased version to the valid binding targets set.
         erasedTargetNames.add(enclosingElement);
     }
 
-    private QualifiedId elementToQualifiedId(Element element, int id) {
-        return new QualifiedId(elementUtils.getPackageOf(element), id);
+    private Id getId(Element element, int id) {
+        return symbols.get(elementUtils.getPackageOf(element), id);
     }
 
     private void parseBindViews(Element element, Map<TypeElement, BindingSet.Builder> builderMap,
@@ -631,8 +919,7 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
 
         List<Id> idVars = new ArrayList<>();
         for (int id : ids) {
-            QualifiedId qualifiedId = elementToQualifiedId(element, id);
-            idVars.add(getId(qualifiedId));
+            idVars.add(getId(element, id));
         }
 
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
@@ -665,9 +952,8 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         // Assemble information on the field.
         String name = element.getSimpleName().toString();
         int id = element.getAnnotation(BindAnim.class).value();
-        QualifiedId qualifiedId = elementToQualifiedId(element, id);
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
-        builder.addResource(new FieldAnimationBinding(getId(qualifiedId), name));
+        builder.addResource(new FieldAnimationBinding(getId(element, id), name));
 
         erasedTargetNames.add(enclosingElement);
     }
@@ -696,10 +982,9 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         // Assemble information on the field.
         String name = element.getSimpleName().toString();
         int id = element.getAnnotation(BindBool.class).value();
-        QualifiedId qualifiedId = elementToQualifiedId(element, id);
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
         builder.addResource(
-                new FieldResourceBinding(getId(qualifiedId), name, FieldResourceBinding.Type.BOOL));
+                new FieldResourceBinding(getId(element, id), name, FieldResourceBinding.Type.BOOL));
 
         erasedTargetNames.add(enclosingElement);
     }
@@ -732,9 +1017,8 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         // Assemble information on the field.
         String name = element.getSimpleName().toString();
         int id = element.getAnnotation(BindColor.class).value();
-        QualifiedId qualifiedId = elementToQualifiedId(element, id);
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
-        builder.addResource(new FieldResourceBinding(getId(qualifiedId), name,
+        builder.addResource(new FieldResourceBinding(getId(element, id), name,
                 isColorStateList ? FieldResourceBinding.Type.COLOR_STATE_LIST
                         : FieldResourceBinding.Type.COLOR));
 
@@ -769,9 +1053,8 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         // Assemble information on the field.
         String name = element.getSimpleName().toString();
         int id = element.getAnnotation(BindDimen.class).value();
-        QualifiedId qualifiedId = elementToQualifiedId(element, id);
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
-        builder.addResource(new FieldResourceBinding(getId(qualifiedId), name,
+        builder.addResource(new FieldResourceBinding(getId(element, id), name,
                 isInt ? FieldResourceBinding.Type.DIMEN_AS_INT : FieldResourceBinding.Type.DIMEN_AS_FLOAT));
 
         erasedTargetNames.add(enclosingElement);
@@ -801,10 +1084,17 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         // Assemble information on the field.
         String name = element.getSimpleName().toString();
         int id = element.getAnnotation(BindBitmap.class).value();
-        QualifiedId qualifiedId = elementToQualifiedId(element, id);
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
         builder.addResource(
-                new FieldResourceBinding(getId(qualifiedId), name, FieldResourceBinding.Type.BITMAP));
+                new FieldResourceBinding(getId(element, id), name, FieldResourceBinding.Type.BITMAP));
+
+        // ViewHolder 每创建一次就会重新解码一次图片
+        if (isViewHolder(enclosingElement)) {
+            warning(element, "@%s in a view holder decodes the bitmap again for every holder. Load "
+                            + "it once and share it, for example from the adapter. (%s.%s)",
+                    BindBitmap.class.getSimpleName(), enclosingElement.getQualifiedName(),
+                    element.getSimpleName());
+        }
 
         erasedTargetNames.add(enclosingElement);
     }
@@ -834,10 +1124,8 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         String name = element.getSimpleName().toString();
         int id = element.getAnnotation(BindDrawable.class).value();
         int tint = element.getAnnotation(BindDrawable.class).tint();
-        QualifiedId qualifiedId = elementToQualifiedId(element, id);
-        QualifiedId qualifiedTint = elementToQualifiedId(element, tint);
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
-        builder.addResource(new FieldDrawableBinding(getId(qualifiedId), name, getId(qualifiedTint)));
+        builder.addResource(new FieldDrawableBinding(getId(element, id), name, getId(element, tint)));
 
         erasedTargetNames.add(enclosingElement);
     }
@@ -866,10 +1154,9 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         // Assemble information on the field.
         String name = element.getSimpleName().toString();
         int id = element.getAnnotation(BindFloat.class).value();
-        QualifiedId qualifiedId = elementToQualifiedId(element, id);
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
         builder.addResource(
-                new FieldResourceBinding(getId(qualifiedId), name, FieldResourceBinding.Type.FLOAT));
+                new FieldResourceBinding(getId(element, id), name, FieldResourceBinding.Type.FLOAT));
 
         erasedTargetNames.add(enclosingElement);
     }
@@ -908,8 +1195,7 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         }
 
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
-        QualifiedId qualifiedId = elementToQualifiedId(element, bindFont.value());
-        builder.addResource(new FieldTypefaceBinding(getId(qualifiedId), name, style));
+        builder.addResource(new FieldTypefaceBinding(getId(element, bindFont.value()), name, style));
 
         erasedTargetNames.add(enclosingElement);
     }
@@ -937,10 +1223,9 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         // Assemble information on the field.
         String name = element.getSimpleName().toString();
         int id = element.getAnnotation(BindInt.class).value();
-        QualifiedId qualifiedId = elementToQualifiedId(element, id);
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
         builder.addResource(
-                new FieldResourceBinding(getId(qualifiedId), name, FieldResourceBinding.Type.INT));
+                new FieldResourceBinding(getId(element, id), name, FieldResourceBinding.Type.INT));
 
         erasedTargetNames.add(enclosingElement);
     }
@@ -969,10 +1254,9 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         // Assemble information on the field.
         String name = element.getSimpleName().toString();
         int id = element.getAnnotation(BindString.class).value();
-        QualifiedId qualifiedId = elementToQualifiedId(element, id);
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
         builder.addResource(
-                new FieldResourceBinding(getId(qualifiedId), name, FieldResourceBinding.Type.STRING));
+                new FieldResourceBinding(getId(element, id), name, FieldResourceBinding.Type.STRING));
 
         erasedTargetNames.add(enclosingElement);
     }
@@ -1003,9 +1287,8 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         // Assemble information on the field.
         String name = element.getSimpleName().toString();
         int id = element.getAnnotation(BindArray.class).value();
-        QualifiedId qualifiedId = elementToQualifiedId(element, id);
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
-        builder.addResource(new FieldResourceBinding(getId(qualifiedId), name, type));
+        builder.addResource(new FieldResourceBinding(getId(element, id), name, type));
 
         erasedTargetNames.add(enclosingElement);
     }
@@ -1037,15 +1320,29 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
      * Returns the first duplicate element inside an array, null if there are no duplicates.
      */
     private static Integer findDuplicate(int[] array) {
-        Set<Integer> seenElements = new LinkedHashSet<>();
-
-        for (int element : array) {
-            if (!seenElements.add(element)) {
-                return element;
+        // 先排序后比较相邻元素，绝大多数没有重复的数组不需要装箱
+        int[] sorted = array.clone();
+        Arrays.sort(sorted);
+        boolean hasDuplicate = false;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                hasDuplicate = true;
+                break;
             }
         }
+        if (!hasDuplicate) {
+            return null;
+        }
 
-        return null;
+        // 按原顺序找到第一个重复的元素，保证错误信息与之前一致
+        for (int i = 1; i < array.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (array[i] == array[j]) {
+                    return array[i];
+                }
+            }
+        }
+        throw new AssertionError();
     }
 
     /**
@@ -1090,14 +1387,9 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
 
         // Assemble information on the method.
+        ListenerDescriptor descriptor = ListenerDescriptor.of(annotationClass);
         Annotation annotation = element.getAnnotation(annotationClass);
-        Method annotationValue = annotationClass.getDeclaredMethod("value");
-        if (annotationValue.getReturnType() != int[].class) {
-            throw new IllegalStateException(
-                    String.format("@%s annotation value() type not int[].", annotationClass));
-        }
-
-        int[] ids = (int[]) annotationValue.invoke(annotation);
+        int[] ids = descriptor.getIds(annotation);
         String name = executableElement.getSimpleName().toString();
         boolean required = isListenerRequired(executableElement);
 
@@ -1113,12 +1405,7 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
             hasError = true;
         }
 
-        ListenerClass listener = annotationClass.getAnnotation(ListenerClass.class);
-        if (listener == null) {
-            throw new IllegalStateException(
-                    String.format("No @%s defined on @%s.", ListenerClass.class.getSimpleName(),
-                            annotationClass.getSimpleName()));
-        }
+        ListenerClass listener = descriptor.getListenerClass();
 
         for (int id : ids) {
             if (id == NO_ID.value) {
@@ -1137,28 +1424,23 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
             }
         }
 
-        ListenerMethod method;
-        ListenerMethod[] methods = listener.method();
-        if (methods.length > 1) {
-            throw new IllegalStateException(String.format("Multiple listener methods specified on @%s.",
-                    annotationClass.getSimpleName()));
-        } else if (methods.length == 1) {
-            if (listener.callbacks() != ListenerClass.NONE.class) {
-                throw new IllegalStateException(
-                        String.format("Both method() and callback() defined on @%s.",
-                                annotationClass.getSimpleName()));
-            }
-            method = methods[0];
-        } else {
-            Method annotationCallback = annotationClass.getDeclaredMethod("callback");
-            Enum<?> callback = (Enum<?>) annotationCallback.invoke(annotation);
-            Field callbackField = callback.getDeclaringClass().getField(callback.name());
-            method = callbackField.getAnnotation(ListenerMethod.class);
-            if (method == null) {
-                throw new IllegalStateException(
-                        String.format("No @%s defined on @%s's %s.%s.", ListenerMethod.class.getSimpleName(),
-                                annotationClass.getSimpleName(), callback.getDeclaringClass().getSimpleName(),
-                                callback.name()));
+        ListenerMethod method = descriptor.getMethod(annotation);
+
+        int debounceMillis = 0;
+        int throttleMillis = 0;
+        if (annotation instanceof OnTextChanged) {
+            debounceMillis = ((OnTextChanged) annotation).debounceMs();
+            throttleMillis = ((OnTextChanged) annotation).throttleMs();
+            if (debounceMillis < 0 || throttleMillis < 0) {
+                error(element, "@%s debounceMs and throttleMs must not be negative. (%s.%s)",
+                        annotationClass.getSimpleName(), enclosingElement.getQualifiedName(),
+                        element.getSimpleName());
+                hasError = true;
+            } else if (debounceMillis > 0 && throttleMillis > 0) {
+                error(element, "@%s may specify only one of debounceMs and throttleMs. (%s.%s)",
+                        annotationClass.getSimpleName(), enclosingElement.getQualifiedName(),
+                        element.getSimpleName());
+                hasError = true;
             }
         }
 
@@ -1253,11 +1535,18 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
             }
         }
 
-        MethodViewBinding binding = new MethodViewBinding(name, Arrays.asList(parameters), required);
+        MethodViewBinding binding = new MethodViewBinding(name, Arrays.asList(parameters), required,
+                debounceMillis, throttleMillis);
         BindingSet.Builder builder = getOrCreateBindingBuilder(builderMap, enclosingElement);
         for (int id : ids) {
-            QualifiedId qualifiedId = elementToQualifiedId(element, id);
-            if (!builder.addMethod(getId(qualifiedId), listener, method, binding)) {
+            if (builder.hasConflictingDelivery(getId(element, id), listener, binding)) {
+                error(element,
+                        "@%s methods for ID %d must all use the same debounceMs and throttleMs. (%s.%s)",
+                        annotationClass.getSimpleName(), id, enclosingElement.getQualifiedName(),
+                        element.getSimpleName());
+                return;
+            }
+            if (!builder.addMethod(getId(element, id), listener, method, binding)) {
                 error(element, "Multiple listener methods with return value specified for ID %d. (%s.%s)",
                         id, enclosingElement.getQualifiedName(), element.getSimpleName());
                 return;
@@ -1268,6 +1557,21 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         erasedTargetNames.add(enclosingElement);
     }
 
+    /**
+     * 判断目标类是否为 ViewHolder：RecyclerView.ViewHolder 的子类，或者类名以 ViewHolder 结尾
+     */
+    private boolean isViewHolder(TypeElement element) {
+        if (element.getSimpleName().toString().endsWith("ViewHolder")) {
+            return true;
+        }
+        for (String viewHolderType : VIEW_HOLDER_TYPES) {
+            if (isSubtypeOfType(element.asType(), viewHolderType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * @param typeMirror
      * @return typeMirror 所代表的实际类是否是一个接口
@@ -1282,7 +1586,7 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
      * @param otherType
      * @return typeMirror 是否是 otherType 的子类
      */
-    static boolean isSubtypeOfType(TypeMirror typeMirror, String otherType) {
+    private boolean isSubtypeOfType(TypeMirror typeMirror, String otherType) {
         if (isTypeEqual(typeMirror, otherType)) {
             return true;
         }
@@ -1315,7 +1619,25 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         if (!(element instanceof TypeElement)) {
             return false;
         }
+        // 父类和接口只取决于类型元素本身的声明，与类型参数无关，所以按类型元素缓存
         TypeElement typeElement = (TypeElement) element;
+        Map<String, Boolean> results = subtypeCache.get(typeElement);
+        if (results == null) {
+            results = new HashMap<>();
+            subtypeCache.put(typeElement, results);
+        }
+        Boolean result = results.get(otherType);
+        if (result == null) {
+            result = isSupertypeSubtypeOfType(typeElement, otherType);
+            results.put(otherType, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return typeElement 的父类或者实现的某个接口是否是 otherType 的子类
+     */
+    private boolean isSupertypeSubtypeOfType(TypeElement typeElement, String otherType) {
         TypeMirror superType = typeElement.getSuperclass();
         if (isSubtypeOfType(superType, otherType)) {
             return true;
@@ -1336,16 +1658,31 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
             Map<TypeElement, BindingSet.Builder> builderMap, TypeElement enclosingElement) {
         BindingSet.Builder builder = builderMap.get(enclosingElement);
         if (builder == null) {
-            builder = BindingSet.newBuilder(enclosingElement);
+            TypeMirror typeMirror = enclosingElement.asType();
+            builder = BindingSet.newBuilder(enclosingElement,
+                    isSubtypeOfType(typeMirror, VIEW_TYPE),
+                    isSubtypeOfType(typeMirror, ACTIVITY_TYPE),
+                    isSubtypeOfType(typeMirror, DIALOG_TYPE));
             builderMap.put(enclosingElement, builder);
         }
         return builder;
     }
 
     /**
-     * Finds the parent binder type in the supplied set, if any.
+     * Finds the parent binder type in the supplied set, if any. The set must be complete, the result
+     * is cached for the rest of the round.
      */
     private TypeElement findParentType(TypeElement typeElement, Set<TypeElement> parents) {
+        if (parentTypeCache.containsKey(typeElement)) {
+            return parentTypeCache.get(typeElement);
+        }
+        TypeElement parentType = findParentTypeUncached(typeElement, parents);
+        parentTypeCache.put(typeElement, parentType);
+        return parentType;
+    }
+
+    private static TypeElement findParentTypeUncached(TypeElement typeElement,
+                                                      Set<TypeElement> parents) {
         TypeMirror type;
         while (true) {
             type = typeElement.getSuperclass();
@@ -1369,6 +1706,10 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         printMessage(Kind.ERROR, element, message, args);
     }
 
+    private void warning(Element element, String message, Object... args) {
+        printMessage(Kind.WARNING, element, message, args);
+    }
+
     private void note(Element element, String message, Object... args) {
         printMessage(Kind.NOTE, element, message, args);
     }
@@ -1409,13 +1750,6 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
         return null;
     }
 
-    private Id getId(QualifiedId qualifiedId) {
-        if (symbols.get(qualifiedId) == null) {
-            symbols.put(qualifiedId, new Id(qualifiedId.id));
-        }
-        return symbols.get(qualifiedId);
-    }
-
     private void scanForRClasses(RoundEnvironment env) {
         if (trees == null) return;
 
@@ -1488,8 +1822,7 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
                                         ClassName.get(elementUtils.getPackageOf(variableElement).toString(), "R",
                                                 innerClassName);
                                 String resourceName = variableElement.getSimpleName().toString();
-                                QualifiedId qualifiedId = new QualifiedId(respectivePackageName, id);
-                                symbols.put(qualifiedId, new Id(id, rClassName, resourceName));
+                                symbols.put(respectivePackageName, new Id(id, rClassName, resourceName));
                             }
                         }
                     }
@@ -1538,12 +1871,12 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
     }
 
     private static class IdScanner extends TreeScanner {
-        private final Map<QualifiedId, Id> ids;
+        private final SymbolTable ids;
         private final PackageElement rPackageName;
         private final PackageElement respectivePackageName;
         private final Set<String> referenced;
 
-        IdScanner(Map<QualifiedId, Id> ids, PackageElement rPackageName,
+        IdScanner(SymbolTable ids, PackageElement rPackageName,
                   PackageElement respectivePackageName, Set<String> referenced) {
             this.ids = ids;
             this.rPackageName = rPackageName;
@@ -1569,12 +1902,12 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
     }
 
     private static class VarScanner extends TreeScanner {
-        private final Map<QualifiedId, Id> ids;
+        private final SymbolTable ids;
         private final ClassName className;
         private final PackageElement respectivePackageName;
         private final Set<String> referenced;
 
-        private VarScanner(Map<QualifiedId, Id> ids, ClassName className,
+        private VarScanner(SymbolTable ids, ClassName className,
                            PackageElement respectivePackageName, Set<String> referenced) {
             this.ids = ids;
             this.className = className;
@@ -1588,8 +1921,7 @@ public final class ButterKnifeProcessor extends AbstractProcessor {
                 String resourceName = jcVariableDecl.getName().toString();
                 if (referenced.contains(getFqName(jcVariableDecl.sym))) {
                     int id = Integer.valueOf(jcVariableDecl.getInitializer().toString());
-                    QualifiedId qualifiedId = new QualifiedId(respectivePackageName, id);
-                    ids.put(qualifiedId, new Id(id, className, resourceName));
+                    ids.put(respectivePackageName, new Id(id, className, resourceName));
                 }
             }
         }
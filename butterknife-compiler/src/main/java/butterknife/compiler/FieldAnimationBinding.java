@@ -17,6 +17,10 @@ final class FieldAnimationBinding implements ResourceBinding {
     return id;
   }
 
+  @Override public String kind() {
+    return "anim";
+  }
+
   @Override public boolean requiresResources(int sdk) {
     return false;
   }
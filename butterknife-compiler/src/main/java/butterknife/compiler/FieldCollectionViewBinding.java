@@ -10,14 +10,8 @@ import static butterknife.compiler.BindingSet.requiresCast;
 
 final class FieldCollectionViewBinding {
   enum Kind {
-    ARRAY("arrayOf"),
-    LIST("listOf");
-
-    final String factoryName;
-
-    Kind(String factoryName) {
-      this.factoryName = factoryName;
-    }
+    ARRAY,
+    LIST
   }
 
   final String name;
@@ -36,8 +30,81 @@ final class FieldCollectionViewBinding {
   }
 
   CodeBlock render(boolean debuggable) {
-    CodeBlock.Builder builder = CodeBlock.builder()
-        .add("target.$L = $T.$L(", name, UTILS, kind.factoryName);
+    TypeName rawType = type;
+    if (rawType instanceof ParameterizedTypeName) {
+      rawType = ((ParameterizedTypeName) rawType).rawType;
+    }
+
+    CodeBlock.Builder builder = CodeBlock.builder();
+    if (kind == Kind.LIST) {
+      builder.add("target.$L = $T.listOf(", name, UTILS);
+      addViews(builder, rawType, debuggable);
+      builder.add(")");
+      return CodeBlock.builder().addStatement("$L", builder.build()).build();
+    }
+
+    // Emit the typed array directly so that no varargs array, null filtering, or reflective
+    // allocation is needed.
+    builder.add("target.$L = new $T[] {", name, rawType);
+    addViews(builder, rawType, debuggable);
+    builder.add("}");
+    if (required) {
+      return CodeBlock.builder().addStatement("$L", builder.build()).build();
+    }
+
+    // Optional views may be missing. Compact in place and only copy into a smaller array (whose
+    // type is known here, unlike at runtime) when one actually is.
+    String count = name + "Count";
+    return CodeBlock.builder()
+        .addStatement("$L", builder.build())
+        .addStatement("int $L = $T.compact(target.$L)", count, UTILS, name)
+        .beginControlFlow("if ($L != target.$L.length)", count, name)
+        .addStatement("target.$L = $T.copyInto(target.$L, new $T[$L])", name, UTILS, name, rawType,
+            count)
+        .endControlFlow()
+        .build();
+  }
+
+  boolean isRequired() {
+    return required;
+  }
+
+  /** Adds the work done by {@link #render(boolean)} to {@code cost}. */
+  void addCost(BindingCost cost, boolean debuggable) {
+    cost.viewLookups += ids.size();
+    if (required) {
+      cost.requiredChecks += ids.size();
+    }
+    if (debuggable && requiresCast(type)) {
+      cost.castViews += ids.size();
+    }
+  }
+
+  /** Adds a condition which is true when any of the views was not found. */
+  void addMissingCondition(CodeBlock.Builder condition) {
+    if (kind == Kind.LIST) {
+      // The list leaves out missing views.
+      condition.add("target.$L.size() != $L", name, ids.size());
+      return;
+    }
+    for (int i = 0; i < ids.size(); i++) {
+      if (i > 0) {
+        condition.add(" || ");
+      }
+      condition.add("target.$L[$L] == null", name, i);
+    }
+  }
+
+  void addIds(CodeBlock.Builder builder) {
+    for (int i = 0; i < ids.size(); i++) {
+      if (i > 0) {
+        builder.add(", ");
+      }
+      builder.add("$L", ids.get(i).code);
+    }
+  }
+
+  private void addViews(CodeBlock.Builder builder, TypeName rawType, boolean debuggable) {
     for (int i = 0; i < ids.size(); i++) {
       if (i > 0) {
         builder.add(", ");
@@ -61,15 +128,10 @@ final class FieldCollectionViewBinding {
         }
         builder.add("(source, $L, \"field '$L'\"", id.code, name);
         if (requiresCast) {
-          TypeName rawType = type;
-          if (rawType instanceof ParameterizedTypeName) {
-            rawType = ((ParameterizedTypeName) rawType).rawType;
-          }
           builder.add(", $T.class", rawType);
         }
         builder.add(")");
       }
     }
-    return builder.add(")").build();
   }
 }
@@ -20,6 +20,10 @@ final class FieldDrawableBinding implements ResourceBinding {
     return id;
   }
 
+  @Override public String kind() {
+    return "drawable";
+  }
+
   @Override public boolean requiresResources(int sdk) {
     return false;
   }
@@ -5,6 +5,7 @@ import com.squareup.javapoet.CodeBlock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.unmodifiableList;
@@ -83,6 +84,10 @@ final class FieldResourceBinding implements ResourceBinding {
     return id;
   }
 
+  @Override public String kind() {
+    return type.name().toLowerCase(Locale.US);
+  }
+
   @Override public boolean requiresResources(int sdk) {
     return type.methodForSdk(sdk).requiresResources;
   }
@@ -46,6 +46,10 @@ final class FieldTypefaceBinding implements ResourceBinding {
     return id;
   }
 
+  @Override public String kind() {
+    return "font";
+  }
+
   @Override public boolean requiresResources(int sdk) {
     return sdk >= 26;
   }
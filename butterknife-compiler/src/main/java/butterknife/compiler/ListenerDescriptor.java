@@ -0,0 +1,164 @@
+package butterknife.compiler;
+
+import butterknife.internal.ListenerClass;
+import butterknife.internal.ListenerMethod;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * The {@link ListenerClass} and {@link ListenerMethod} metadata of one listener annotation, read
+ * reflectively once for each annotation in {@link ButterKnifeProcessor#LISTENERS} so that parsing
+ * and code generation only look it up.
+ */
+final class ListenerDescriptor {
+  private static final ImmutableMap<Class<? extends Annotation>, ListenerDescriptor> BY_ANNOTATION;
+  private static final ImmutableMap<ListenerClass, ListenerDescriptor> BY_LISTENER;
+
+  static {
+    ImmutableMap.Builder<Class<? extends Annotation>, ListenerDescriptor> byAnnotation =
+        ImmutableMap.builder();
+    ImmutableMap.Builder<ListenerClass, ListenerDescriptor> byListener = ImmutableMap.builder();
+    for (Class<? extends Annotation> annotationClass : ButterKnifeProcessor.LISTENERS) {
+      ListenerDescriptor descriptor = new ListenerDescriptor(annotationClass);
+      byAnnotation.put(annotationClass, descriptor);
+      byListener.put(descriptor.listener, descriptor);
+    }
+    BY_ANNOTATION = byAnnotation.build();
+    BY_LISTENER = byListener.build();
+  }
+
+  static ListenerDescriptor of(Class<? extends Annotation> annotationClass) {
+    ListenerDescriptor descriptor = BY_ANNOTATION.get(annotationClass);
+    if (descriptor == null) {
+      throw new IllegalArgumentException("Unknown listener annotation " + annotationClass);
+    }
+    return descriptor;
+  }
+
+  /** Returns every callback method of {@code listener}, in declaration order. */
+  static List<ListenerMethod> methodsOf(ListenerClass listener) {
+    ListenerDescriptor descriptor = BY_LISTENER.get(listener);
+    if (descriptor == null) {
+      throw new IllegalArgumentException("Unknown listener " + listener);
+    }
+    if (descriptor.missingCallback != null) {
+      throw new IllegalStateException(descriptor.missingCallback);
+    }
+    return descriptor.methods;
+  }
+
+  private final Class<? extends Annotation> annotationClass;
+  private final ListenerClass listener;
+  private final Method value;
+  /** The {@code callback()} member, or null if the listener has a single method. */
+  private final Method callback;
+  /** The method of each callback constant by ordinal, null where it has no annotation. */
+  private final ListenerMethod[] callbackMethods;
+  private final ImmutableList<ListenerMethod> methods;
+  /** The error for the first callback constant without a method, or null if there is none. */
+  private final String missingCallback;
+
+  private ListenerDescriptor(Class<? extends Annotation> annotationClass) {
+    this.annotationClass = annotationClass;
+    try {
+      value = annotationClass.getDeclaredMethod("value");
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+    if (value.getReturnType() != int[].class) {
+      throw new IllegalStateException(
+          String.format("@%s annotation value() type not int[].", annotationClass));
+    }
+
+    listener = annotationClass.getAnnotation(ListenerClass.class);
+    if (listener == null) {
+      throw new IllegalStateException(
+          String.format("No @%s defined on @%s.", ListenerClass.class.getSimpleName(),
+              annotationClass.getSimpleName()));
+    }
+
+    ListenerMethod[] listenerMethods = listener.method();
+    if (listenerMethods.length > 1) {
+      throw new IllegalStateException(String.format("Multiple listener methods specified on @%s.",
+          annotationClass.getSimpleName()));
+    } else if (listenerMethods.length == 1) {
+      if (listener.callbacks() != ListenerClass.NONE.class) {
+        throw new IllegalStateException(
+            String.format("Both method() and callback() defined on @%s.",
+                annotationClass.getSimpleName()));
+      }
+      callback = null;
+      callbackMethods = listenerMethods;
+      methods = ImmutableList.copyOf(listenerMethods);
+      missingCallback = null;
+      return;
+    }
+
+    try {
+      callback = annotationClass.getDeclaredMethod("callback");
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+    Class<? extends Enum<?>> callbacks = listener.callbacks();
+    Enum<?>[] constants = callbacks.getEnumConstants();
+    callbackMethods = new ListenerMethod[constants.length];
+    ImmutableList.Builder<ListenerMethod> allMethods = ImmutableList.builder();
+    String missing = null;
+    for (Enum<?> constant : constants) {
+      ListenerMethod method;
+      try {
+        method = callbacks.getField(constant.name()).getAnnotation(ListenerMethod.class);
+      } catch (NoSuchFieldException e) {
+        throw new AssertionError(e);
+      }
+      if (method == null) {
+        if (missing == null) {
+          missing = String.format("@%s's %s.%s missing @%s annotation.",
+              callbacks.getEnclosingClass().getSimpleName(), callbacks.getSimpleName(),
+              constant.name(), ListenerMethod.class.getSimpleName());
+        }
+      } else {
+        allMethods.add(method);
+      }
+      callbackMethods[constant.ordinal()] = method;
+    }
+    methods = allMethods.build();
+    missingCallback = missing;
+  }
+
+  ListenerClass getListenerClass() {
+    return listener;
+  }
+
+  int[] getIds(Annotation annotation) {
+    return (int[]) invoke(value, annotation);
+  }
+
+  /** Returns the listener method which {@code annotation} binds to. */
+  ListenerMethod getMethod(Annotation annotation) {
+    if (callback == null) {
+      return callbackMethods[0];
+    }
+    Enum<?> constant = (Enum<?>) invoke(callback, annotation);
+    ListenerMethod method = callbackMethods[constant.ordinal()];
+    if (method == null) {
+      throw new IllegalStateException(
+          String.format("No @%s defined on @%s's %s.%s.", ListenerMethod.class.getSimpleName(),
+              annotationClass.getSimpleName(), constant.getDeclaringClass().getSimpleName(),
+              constant.name()));
+    }
+    return method;
+  }
+
+  private static Object invoke(Method member, Annotation annotation) {
+    try {
+      return member.invoke(annotation);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
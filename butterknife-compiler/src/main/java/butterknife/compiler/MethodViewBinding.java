@@ -8,11 +8,20 @@ final class MethodViewBinding implements MemberViewBinding {
     private final String name;
     private final List<Parameter> parameters;
     private final boolean required;
+    private final int debounceMillis;
+    private final int throttleMillis;
 
     MethodViewBinding(String name, List<Parameter> parameters, boolean required) {
+        this(name, parameters, required, 0, 0);
+    }
+
+    MethodViewBinding(String name, List<Parameter> parameters, boolean required,
+                      int debounceMillis, int throttleMillis) {
         this.name = name;
         this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
         this.required = required;
+        this.debounceMillis = debounceMillis;
+        this.throttleMillis = throttleMillis;
     }
 
     public String getName() {
@@ -31,4 +40,21 @@ final class MethodViewBinding implements MemberViewBinding {
     public boolean isRequired() {
         return required;
     }
+
+    public int getDebounceMillis() {
+        return debounceMillis;
+    }
+
+    public int getThrottleMillis() {
+        return throttleMillis;
+    }
+
+    public boolean isCoalesced() {
+        return debounceMillis > 0 || throttleMillis > 0;
+    }
+
+    /** Whether both bindings deliver their callbacks on the same schedule. */
+    public boolean hasSameDelivery(MethodViewBinding other) {
+        return debounceMillis == other.debounceMillis && throttleMillis == other.throttleMillis;
+    }
 }
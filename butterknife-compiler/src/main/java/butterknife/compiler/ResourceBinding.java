@@ -5,6 +5,9 @@ import com.squareup.javapoet.CodeBlock;
 interface ResourceBinding {
   Id id();
 
+  /** The kind of resource which is loaded, as listed in the binding cost report. */
+  String kind();
+
   /** True if the code for this binding requires a 'res' variable for {@code Resources} access. */
   boolean requiresResources(int sdk);
 
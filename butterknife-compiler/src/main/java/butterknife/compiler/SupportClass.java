@@ -0,0 +1,133 @@
+package butterknife.compiler;
+
+import butterknife.internal.ListenerClass;
+import butterknife.internal.ListenerMethod;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Collects the listener callbacks of every binding in a package into one listener class per
+ * {@link ListenerClass}. Each binding instantiates the shared class with its own case number
+ * instead of declaring an anonymous class, so a package with many bindings ships a handful of
+ * listener classes rather than one per bound listener.
+ */
+final class SupportClass {
+  private final ClassName className;
+  private final Elements elements;
+  private final Map<ListenerClass, List<Map<ListenerMethod, CodeBlock>>> cases =
+      new LinkedHashMap<>();
+
+  SupportClass(ClassName className, Elements elements) {
+    this.className = className;
+    this.elements = elements;
+  }
+
+  ClassName getClassName() {
+    return className;
+  }
+
+  ClassName getListenerClassName(ListenerClass listener) {
+    String simpleName = ClassName.bestGuess(listener.type()).simpleName();
+    return className.nestedClass("Shared" + simpleName);
+  }
+
+  /**
+   * Adds the callback bodies of one binding and returns the case number which selects them. A
+   * method missing from {@code bodies} does nothing for this case.
+   */
+  int addCase(ListenerClass listener, Map<ListenerMethod, CodeBlock> bodies) {
+    List<Map<ListenerMethod, CodeBlock>> listenerCases = cases.get(listener);
+    if (listenerCases == null) {
+      listenerCases = new ArrayList<>();
+      cases.put(listener, listenerCases);
+    }
+    listenerCases.add(bodies);
+    return listenerCases.size() - 1;
+  }
+
+  boolean isEmpty() {
+    return cases.isEmpty();
+  }
+
+  JavaFile brewJava() {
+    TypeSpec.Builder result = TypeSpec.classBuilder(className)
+        .addModifiers(FINAL)
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(PRIVATE)
+            .addStatement("throw new $T($S)", AssertionError.class, "No instances.")
+            .build());
+    for (Map.Entry<ListenerClass, List<Map<ListenerMethod, CodeBlock>>> entry
+        : cases.entrySet()) {
+      result.addType(createListenerClass(entry.getKey(), entry.getValue()));
+    }
+    return JavaFile.builder(className.packageName(), result.build())
+        .addFileComment("Generated code from Butter Knife. Do not modify!")
+        .build();
+  }
+
+  private TypeSpec createListenerClass(ListenerClass listener,
+      List<Map<ListenerMethod, CodeBlock>> listenerCases) {
+    ClassName listenerType = ClassName.bestGuess(listener.type());
+    TypeSpec.Builder result = TypeSpec.classBuilder(getListenerClassName(listener))
+        .addModifiers(STATIC, FINAL)
+        .addField(int.class, "binding", PRIVATE, FINAL)
+        .addField(Object.class, "target", PRIVATE, FINAL)
+        .addMethod(MethodSpec.constructorBuilder()
+            .addParameter(int.class, "binding")
+            .addParameter(Object.class, "target")
+            .addStatement("this.binding = binding")
+            .addStatement("this.target = target")
+            .build());
+
+    TypeElement listenerElement = elements.getTypeElement(listener.type());
+    if (listenerElement != null && listenerElement.getKind() == ElementKind.CLASS) {
+      result.superclass(listenerType);
+    } else {
+      result.addSuperinterface(listenerType);
+    }
+
+    for (ListenerMethod method : BindingSet.getListenerMethods(listener)) {
+      MethodSpec.Builder callbackMethod = BindingSet.createCallbackMethod(method);
+      boolean returns = !"void".equals(method.returnType());
+      boolean hasCases = false;
+      for (int i = 0, count = listenerCases.size(); i < count; i++) {
+        CodeBlock body = listenerCases.get(i).get(method);
+        if (body == null) {
+          continue;
+        }
+        if (!hasCases) {
+          callbackMethod.beginControlFlow("switch (binding)");
+          hasCases = true;
+        }
+        callbackMethod.addCode("case $L:\n$>", i).addCode(body);
+        if (!returns) {
+          callbackMethod.addStatement("break");
+        }
+        callbackMethod.addCode("$<");
+      }
+      if (hasCases) {
+        callbackMethod.endControlFlow();
+      }
+      if (returns) {
+        callbackMethod.addStatement("return $L", method.defaultReturn());
+      }
+      result.addMethod(callbackMethod.build());
+    }
+    return result.build();
+  }
+}
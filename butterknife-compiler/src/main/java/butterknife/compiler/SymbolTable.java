@@ -0,0 +1,105 @@
+package butterknife.compiler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.lang.model.element.PackageElement;
+
+/**
+ * The {@link Id} of each resource ID referenced from a package, keyed by its int value in a
+ * primitive open addressing table per package. Consecutive lookups usually come from the same
+ * package, so the table of the last package is kept at hand.
+ */
+final class SymbolTable {
+  private final Map<PackageElement, IdMap> packages = new LinkedHashMap<>();
+  private PackageElement lastPackage;
+  private IdMap lastIds;
+
+  /**
+   * Returns the ID with {@code value} in {@code packageElement}, creating an unqualified one if no
+   * R class field was found for it.
+   */
+  Id get(PackageElement packageElement, int value) {
+    IdMap ids = idsOf(packageElement);
+    Id id = ids.get(value);
+    if (id == null) {
+      id = new Id(value);
+      ids.put(value, id);
+    }
+    return id;
+  }
+
+  void put(PackageElement packageElement, Id id) {
+    idsOf(packageElement).put(id.value, id);
+  }
+
+  private IdMap idsOf(PackageElement packageElement) {
+    if (packageElement == lastPackage) {
+      return lastIds;
+    }
+    IdMap ids = packages.get(packageElement);
+    if (ids == null) {
+      ids = new IdMap();
+      packages.put(packageElement, ids);
+    }
+    lastPackage = packageElement;
+    lastIds = ids;
+    return ids;
+  }
+
+  /** An int to {@link Id} map with linear probing which keeps at most half of its slots full. */
+  static final class IdMap {
+    private int[] keys = new int[16];
+    private Id[] values = new Id[16];
+    private int size;
+
+    Id get(int key) {
+      int mask = keys.length - 1;
+      for (int i = slot(key, mask); values[i] != null; i = (i + 1) & mask) {
+        if (keys[i] == key) {
+          return values[i];
+        }
+      }
+      return null;
+    }
+
+    void put(int key, Id value) {
+      int mask = keys.length - 1;
+      int i = slot(key, mask);
+      for (; values[i] != null; i = (i + 1) & mask) {
+        if (keys[i] == key) {
+          values[i] = value;
+          return;
+        }
+      }
+      keys[i] = key;
+      values[i] = value;
+      if (++size * 2 > keys.length) {
+        resize();
+      }
+    }
+
+    private void resize() {
+      int[] oldKeys = keys;
+      Id[] oldValues = values;
+      keys = new int[oldKeys.length * 2];
+      values = new Id[oldValues.length * 2];
+      int mask = keys.length - 1;
+      for (int j = 0; j < oldKeys.length; j++) {
+        if (oldValues[j] != null) {
+          int i = slot(oldKeys[j], mask);
+          while (values[i] != null) {
+            i = (i + 1) & mask;
+          }
+          keys[i] = oldKeys[j];
+          values[i] = oldValues[j];
+        }
+      }
+    }
+
+    /** Spreads resource IDs, which differ mostly in their low bits within a type. */
+    private static int slot(int key, int mask) {
+      int hash = key * 0x9E3779B9;
+      return (hash ^ (hash >>> 16)) & mask;
+    }
+  }
+}
@@ -14,12 +14,16 @@ final class ViewBinding {
     private final Id id;
     private final Map<ListenerClass, Map<ListenerMethod, Set<MethodViewBinding>>> methodBindings;
     private final FieldViewBinding fieldBinding;
+    private final String inheritedField;
+    private final Id stubId;
 
     ViewBinding(Id id, Map<ListenerClass, Map<ListenerMethod, Set<MethodViewBinding>>> methodBindings,
-                FieldViewBinding fieldBinding) {
+                FieldViewBinding fieldBinding, String inheritedField, Id stubId) {
         this.id = id;
         this.methodBindings = methodBindings;
         this.fieldBinding = fieldBinding;
+        this.inheritedField = inheritedField;
+        this.stubId = stubId;
     }
 
     public Id getId() {
@@ -34,6 +38,22 @@ final class ViewBinding {
         return methodBindings;
     }
 
+    /**
+     * Returns the name of a required field of the target into which a parent binding has already
+     * stored this view, or null if the view must be looked up.
+     */
+    public String getInheritedField() {
+        return inheritedField;
+    }
+
+    /**
+     * Returns the ID of the {@code ViewStub} whose layout contains this view, or null if the view
+     * is bound immediately.
+     */
+    public Id getStubId() {
+        return stubId;
+    }
+
     public List<MemberViewBinding> getRequiredBindings() {
         List<MemberViewBinding> requiredBindings = new ArrayList<>();
         if (fieldBinding != null && fieldBinding.isRequired()) {
@@ -51,6 +71,26 @@ final class ViewBinding {
         return requiredBindings;
     }
 
+    /**
+     * Returns a binding for {@code listener} which determines how its callbacks are delivered. All
+     * method bindings of a listener share the same delivery.
+     */
+    public MethodViewBinding getDeliveryBinding(ListenerClass listener) {
+        return firstBinding(methodBindings.get(listener));
+    }
+
+    static MethodViewBinding firstBinding(Map<ListenerMethod, Set<MethodViewBinding>> methods) {
+        if (methods == null) {
+            return null;
+        }
+        for (Set<MethodViewBinding> set : methods.values()) {
+            for (MethodViewBinding binding : set) {
+                return binding;
+            }
+        }
+        return null;
+    }
+
     public boolean isSingleFieldBinding() {
         return methodBindings.isEmpty() && fieldBinding != null;
     }
@@ -75,6 +115,8 @@ final class ViewBinding {
         private final Map<ListenerClass, Map<ListenerMethod, Set<MethodViewBinding>>> methodBindings =
                 new LinkedHashMap<>();
         FieldViewBinding fieldBinding;
+        String inheritedField;
+        Id stubId;
 
         Builder(Id id) {
             this.id = id;
@@ -85,6 +127,11 @@ final class ViewBinding {
             return methods != null && methods.containsKey(method);
         }
 
+        public boolean hasConflictingDelivery(ListenerClass listener, MethodViewBinding binding) {
+            MethodViewBinding existing = firstBinding(methodBindings.get(listener));
+            return existing != null && !existing.hasSameDelivery(binding);
+        }
+
         public void addMethodBinding(ListenerClass listener, ListenerMethod method,
                                      MethodViewBinding binding) {
             Map<ListenerMethod, Set<MethodViewBinding>> methods = methodBindings.get(listener);
@@ -109,8 +156,16 @@ final class ViewBinding {
             this.fieldBinding = fieldBinding;
         }
 
+        public void setInheritedField(String inheritedField) {
+            this.inheritedField = inheritedField;
+        }
+
+        public void setStubId(Id stubId) {
+            this.stubId = stubId;
+        }
+
         public ViewBinding build() {
-            return new ViewBinding(id, methodBindings, fieldBinding);
+            return new ViewBinding(id, methodBindings, fieldBinding, inheritedField, stubId);
         }
     }
 }
@@ -0,0 +1,130 @@
+package butterknife.lint;
+
+import com.android.tools.lint.client.api.JavaEvaluator;
+import com.android.tools.lint.detector.api.Category;
+import com.android.tools.lint.detector.api.Detector;
+import com.android.tools.lint.detector.api.Implementation;
+import com.android.tools.lint.detector.api.Issue;
+import com.android.tools.lint.detector.api.JavaContext;
+import com.android.tools.lint.detector.api.Scope;
+import com.android.tools.lint.detector.api.Severity;
+import com.google.common.collect.ImmutableSet;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiType;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.jetbrains.uast.UCallExpression;
+import org.jetbrains.uast.UExpression;
+import org.jetbrains.uast.UMethod;
+import org.jetbrains.uast.UastUtils;
+import org.jetbrains.uast.visitor.AbstractUastVisitor;
+
+/**
+ * Custom lint rule to make sure that views are not bound again on every adapter bind, draw,
+ * measure or layout pass.
+ */
+public class BindInHotCallbackDetector extends Detector implements Detector.UastScanner {
+  private static final String LINT_ERROR_BODY =
+      "`ButterKnife.bind` in `%1$s` runs on every call. Bind once in the view holder constructor.";
+  private static final String LINT_ERROR_BODY_BOUND = "`ButterKnife.bind` in `%1$s` runs on every "
+      + "call and `%2$s` already binds itself in its constructor. Remove the call.";
+  private static final String LINT_ERROR_TITLE = "ButterKnife.bind in a frequently called method";
+  private static final String LINT_ERROR_EXPLANATION = "Binding finds every view by ID and "
+      + "creates its listeners. Adapters call `getView` and `onBindViewHolder` for every item "
+      + "shown and views call `onDraw`, `onMeasure` and `onLayout` on every frame, so binding "
+      + "there repeats that work each time. Bind in the view holder or view constructor instead.";
+  private static final String ISSUE_ID = "BindInHotCallback";
+
+  private static final String BUTTER_KNIFE = "butterknife.ButterKnife";
+  private static final String ADAPTER = "android.widget.Adapter";
+  private static final Set<String> RECYCLER_VIEW_ADAPTERS =
+      ImmutableSet.of("android.support.v7.widget.RecyclerView.Adapter",
+          "androidx.recyclerview.widget.RecyclerView.Adapter");
+  private static final String VIEW = "android.view.View";
+  private static final Set<String> VIEW_CALLBACKS = ImmutableSet.of("onDraw", "onMeasure",
+      "onLayout");
+
+  static final Issue ISSUE =
+      Issue.create(ISSUE_ID, LINT_ERROR_TITLE, LINT_ERROR_EXPLANATION, Category.PERFORMANCE, 6,
+          Severity.WARNING,
+          new Implementation(BindInHotCallbackDetector.class, Scope.JAVA_FILE_SCOPE));
+
+  @Override public List<String> getApplicableMethodNames() {
+    return Collections.singletonList("bind");
+  }
+
+  @Override public void visitMethod(JavaContext context, UCallExpression node, PsiMethod method) {
+    JavaEvaluator evaluator = context.getEvaluator();
+    if (!evaluator.isMemberInClass(method, BUTTER_KNIFE)) {
+      return;
+    }
+    UMethod callback = UastUtils.getParentOfType(node, UMethod.class, true);
+    if (callback == null || !isHotCallback(evaluator, callback)) {
+      return;
+    }
+    PsiClass target = getBoundClass(node);
+    String message = target != null && bindsInConstructor(context, target)
+        ? String.format(LINT_ERROR_BODY_BOUND, callback.getName(), target.getName())
+        : String.format(LINT_ERROR_BODY, callback.getName());
+    context.report(ISSUE, node, context.getLocation(node), message);
+  }
+
+  private static boolean isHotCallback(JavaEvaluator evaluator, UMethod method) {
+    PsiClass cls = method.getContainingClass();
+    if (cls == null) {
+      return false;
+    }
+    String name = method.getName();
+    if ("getView".equals(name)) {
+      return evaluator.implementsInterface(cls, ADAPTER, false);
+    }
+    if ("onBindViewHolder".equals(name)) {
+      for (String adapter : RECYCLER_VIEW_ADAPTERS) {
+        if (evaluator.extendsClass(cls, adapter, false)) {
+          return true;
+        }
+      }
+      return false;
+    }
+    return VIEW_CALLBACKS.contains(name) && evaluator.extendsClass(cls, VIEW, false);
+  }
+
+  /** Returns the class of the target passed to {@code bind}, or null if it is not known. */
+  private static PsiClass getBoundClass(UCallExpression node) {
+    List<UExpression> arguments = node.getValueArguments();
+    if (arguments.isEmpty()) {
+      return null;
+    }
+    PsiType targetType = arguments.get(0).getExpressionType();
+    return targetType instanceof PsiClassType ? ((PsiClassType) targetType).resolve() : null;
+  }
+
+  private static boolean bindsInConstructor(final JavaContext context, PsiClass cls) {
+    for (PsiMethod constructor : cls.getConstructors()) {
+      UMethod method = context.getUastContext().getMethod(constructor);
+      if (method == null) {
+        continue;
+      }
+      final boolean[] binds = new boolean[1];
+      method.accept(new AbstractUastVisitor() {
+        @Override public boolean visitCallExpression(UCallExpression node) {
+          if ("bind".equals(node.getMethodName())) {
+            PsiMethod resolved = node.resolve();
+            if (resolved != null
+                && context.getEvaluator().isMemberInClass(resolved, BUTTER_KNIFE)) {
+              binds[0] = true;
+            }
+          }
+          return super.visitCallExpression(node);
+        }
+      });
+      if (binds[0]) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -10,6 +10,8 @@ import com.android.tools.lint.detector.api.LintUtils;
 import com.android.tools.lint.detector.api.Scope;
 import com.android.tools.lint.detector.api.Severity;
 import com.google.common.collect.ImmutableSet;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -17,8 +19,8 @@ import org.jetbrains.uast.UAnnotation;
 import org.jetbrains.uast.UClass;
 import org.jetbrains.uast.UElement;
 import org.jetbrains.uast.UExpression;
-import org.jetbrains.uast.UFile;
 import org.jetbrains.uast.UQualifiedReferenceExpression;
+import org.jetbrains.uast.UReferenceExpression;
 import org.jetbrains.uast.USimpleNameReferenceExpression;
 import org.jetbrains.uast.visitor.AbstractUastVisitor;
 
@@ -44,13 +46,32 @@ public class InvalidR2UsageDetector extends Detector implements Detector.UastSca
   }
 
   @Override public UElementHandler createUastHandler(final JavaContext context) {
+    final boolean skip = !mentionsR2(context) || isGeneratedFile(context);
     return new UElementHandler() {
       @Override public void visitClass(UClass node) {
-        node.accept(new R2UsageVisitor(context));
+        if (!skip) {
+          node.accept(new R2UsageVisitor(context));
+        }
       }
     };
   }
 
+  /** A cheap check on the file contents which rules out most files before visiting them. */
+  private static boolean mentionsR2(JavaContext context) {
+    CharSequence contents = context.getContents();
+    return contents == null || contents.toString().contains(R2);
+  }
+
+  private static boolean isGeneratedFile(JavaContext context) {
+    List<UClass> classes = context.getUastFile().getClasses();
+    if (classes.isEmpty()) {
+      return false;
+    }
+    String name = classes.get(0).getName();
+    return name != null
+        && (name.contains("_ViewBinder") || name.contains("_ViewBinding") || name.equals(R2));
+  }
+
   private static class R2UsageVisitor extends AbstractUastVisitor {
     private final JavaContext context;
 
@@ -64,49 +85,51 @@ public class InvalidR2UsageDetector extends Detector implements Detector.UastSca
     }
 
     @Override public boolean visitQualifiedReferenceExpression(UQualifiedReferenceExpression node) {
-      detectR2(context, node);
+      if (isR2Name(node.getSelector())) {
+        detectR2(context, node);
+      }
       return super.visitQualifiedReferenceExpression(node);
     }
 
     @Override
     public boolean visitSimpleNameReferenceExpression(USimpleNameReferenceExpression node) {
-      detectR2(context, node);
-      return super.visitSimpleNameReferenceExpression(node);
-    }
-
-    private static void detectR2(JavaContext context, UElement node) {
-      UFile sourceFile = context.getUastFile();
-      List<UClass> classes = sourceFile.getClasses();
-      if (!classes.isEmpty() && classes.get(0).getName() != null) {
-        String qualifiedName = classes.get(0).getName();
-        if (qualifiedName.contains("_ViewBinder")
-            || qualifiedName.contains("_ViewBinding")
-            || qualifiedName.equals(R2)) {
-          // skip generated files and R2
-          return;
-        }
-      }
-      boolean isR2 = isR2Expression(node);
-      if (isR2 && !context.isSuppressedWithComment(node, ISSUE)) {
-        context.report(ISSUE, node, context.getLocation(node), LINT_ERROR_BODY);
+      if (R2.equals(node.getIdentifier())) {
+        detectR2(context, node);
       }
+      return super.visitSimpleNameReferenceExpression(node);
     }
 
-    private static boolean isR2Expression(UElement node) {
+    /** Reports {@code node} if it is the {@code R2} class qualifying one of its resource types. */
+    private static void detectR2(JavaContext context, UReferenceExpression node) {
       UElement parentNode = node.getUastParent();
       if (parentNode == null) {
-        return false;
+        return;
       }
-      String text = node.asSourceString();
       UElement parent = LintUtils.skipParentheses(parentNode);
-      return (text.equals(R2) || text.contains(".R2"))
-          && parent instanceof UExpression
-          && endsWithAny(parent.asSourceString(), SUPPORTED_TYPES);
+      if (!(parent instanceof UQualifiedReferenceExpression)) {
+        return;
+      }
+      UExpression selector = ((UQualifiedReferenceExpression) parent).getSelector();
+      if (!(selector instanceof USimpleNameReferenceExpression)) {
+        return;
+      }
+      String type = ((USimpleNameReferenceExpression) selector).getIdentifier();
+      if (!SUPPORTED_TYPES.contains(type)) {
+        return;
+      }
+      // Unresolved references are still reported, like R2 before it is generated.
+      PsiElement resolved = node.resolve();
+      if (resolved != null && !(resolved instanceof PsiClass)) {
+        return;
+      }
+      if (!context.isSuppressedWithComment(node, ISSUE)) {
+        context.report(ISSUE, node, context.getLocation(node), LINT_ERROR_BODY);
+      }
     }
 
-    private static boolean endsWithAny(String text, Set<String> possibleValues) {
-      String[] tokens = text.split("\\.");
-      return tokens.length > 1 && possibleValues.contains(tokens[tokens.length - 1]);
+    private static boolean isR2Name(UExpression expression) {
+      return expression instanceof USimpleNameReferenceExpression
+          && R2.equals(((USimpleNameReferenceExpression) expression).getIdentifier());
     }
   }
 }
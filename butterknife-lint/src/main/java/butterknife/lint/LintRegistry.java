@@ -11,6 +11,6 @@ import java.util.List;
 public class LintRegistry extends IssueRegistry {
 
   @Override public List<Issue> getIssues() {
-    return ImmutableList.of(InvalidR2UsageDetector.ISSUE);
+    return ImmutableList.of(InvalidR2UsageDetector.ISSUE, BindInHotCallbackDetector.ISSUE);
   }
 }
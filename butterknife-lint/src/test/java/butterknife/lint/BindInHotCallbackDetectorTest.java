@@ -0,0 +1,186 @@
+package butterknife.lint;
+
+import com.android.tools.lint.checks.infrastructure.TestFile;
+import org.junit.Test;
+
+import static com.android.tools.lint.checks.infrastructure.TestFiles.java;
+import static com.android.tools.lint.checks.infrastructure.TestLintTask.lint;
+
+public final class BindInHotCallbackDetectorTest {
+  private static final TestFile BUTTER_KNIFE = java(""
+      + "package butterknife;\n"
+      + "\n"
+      + "import android.view.View;\n"
+      + "\n"
+      + "public final class ButterKnife {\n"
+      + "  public static Object bind(Object target, View source) {\n"
+      + "    return null;\n"
+      + "  }\n"
+      + "}\n");
+
+  private static final TestFile RECYCLER_VIEW = java(""
+      + "package android.support.v7.widget;\n"
+      + "\n"
+      + "import android.view.View;\n"
+      + "\n"
+      + "public class RecyclerView {\n"
+      + "  public abstract static class ViewHolder {\n"
+      + "    public final View itemView;\n"
+      + "\n"
+      + "    public ViewHolder(View itemView) {\n"
+      + "      this.itemView = itemView;\n"
+      + "    }\n"
+      + "  }\n"
+      + "\n"
+      + "  public abstract static class Adapter<VH extends ViewHolder> {\n"
+      + "    public abstract void onBindViewHolder(VH holder, int position);\n"
+      + "  }\n"
+      + "}\n");
+
+  @Test public void bindInHolderConstructor() {
+    lint() //
+        .files(BUTTER_KNIFE, RECYCLER_VIEW, java(""
+            + "package sample;\n"
+            + "\n"
+            + "import android.support.v7.widget.RecyclerView;\n"
+            + "import android.view.View;\n"
+            + "import butterknife.ButterKnife;\n"
+            + "\n"
+            + "class Holder extends RecyclerView.ViewHolder {\n"
+            + "  Holder(View view) {\n"
+            + "    super(view);\n"
+            + "    ButterKnife.bind(this, view);\n"
+            + "  }\n"
+            + "}\n")) //
+        .issues(BindInHotCallbackDetector.ISSUE) //
+        .run() //
+        .expectClean();
+  }
+
+  @Test public void bindInOnBindViewHolder() {
+    lint() //
+        .files(BUTTER_KNIFE, RECYCLER_VIEW, java(""
+            + "package sample;\n"
+            + "\n"
+            + "import android.support.v7.widget.RecyclerView;\n"
+            + "import android.view.View;\n"
+            + "import butterknife.ButterKnife;\n"
+            + "\n"
+            + "class SampleAdapter extends RecyclerView.Adapter<SampleAdapter.Holder> {\n"
+            + "  static final class Holder extends RecyclerView.ViewHolder {\n"
+            + "    Holder(View view) {\n"
+            + "      super(view);\n"
+            + "    }\n"
+            + "  }\n"
+            + "\n"
+            + "  @Override public void onBindViewHolder(Holder holder, int position) {\n"
+            + "    ButterKnife.bind(holder, holder.itemView);\n"
+            + "  }\n"
+            + "}\n")) //
+        .issues(BindInHotCallbackDetector.ISSUE) //
+        .run() //
+        .expectWarningCount(1) //
+        .expectErrorCount(0);
+  }
+
+  @Test public void bindInOnBindViewHolderOfSelfBindingHolder() {
+    lint() //
+        .files(BUTTER_KNIFE, RECYCLER_VIEW, java(""
+            + "package sample;\n"
+            + "\n"
+            + "import android.support.v7.widget.RecyclerView;\n"
+            + "import android.view.View;\n"
+            + "import butterknife.ButterKnife;\n"
+            + "\n"
+            + "class SampleAdapter extends RecyclerView.Adapter<SampleAdapter.Holder> {\n"
+            + "  static final class Holder extends RecyclerView.ViewHolder {\n"
+            + "    Holder(View view) {\n"
+            + "      super(view);\n"
+            + "      ButterKnife.bind(this, view);\n"
+            + "    }\n"
+            + "  }\n"
+            + "\n"
+            + "  @Override public void onBindViewHolder(Holder holder, int position) {\n"
+            + "    ButterKnife.bind(holder, holder.itemView);\n"
+            + "  }\n"
+            + "}\n")) //
+        .issues(BindInHotCallbackDetector.ISSUE) //
+        .run() //
+        .expectWarningCount(1) //
+        .expectErrorCount(0) //
+        .expectMatches("Holder`? already binds itself in its constructor");
+  }
+
+  @Test public void bindInGetView() {
+    lint() //
+        .files(BUTTER_KNIFE, java(""
+            + "package sample;\n"
+            + "\n"
+            + "import android.view.View;\n"
+            + "import android.view.ViewGroup;\n"
+            + "import android.widget.BaseAdapter;\n"
+            + "import butterknife.ButterKnife;\n"
+            + "\n"
+            + "abstract class SampleAdapter extends BaseAdapter {\n"
+            + "  @Override public View getView(int position, View view, ViewGroup parent) {\n"
+            + "    ButterKnife.bind(this, view);\n"
+            + "    return view;\n"
+            + "  }\n"
+            + "}\n")) //
+        .issues(BindInHotCallbackDetector.ISSUE) //
+        .run() //
+        .expectWarningCount(1) //
+        .expectErrorCount(0);
+  }
+
+  @Test public void bindInOnDraw() {
+    lint() //
+        .files(BUTTER_KNIFE, java(""
+            + "package sample;\n"
+            + "\n"
+            + "import android.content.Context;\n"
+            + "import android.graphics.Canvas;\n"
+            + "import android.view.View;\n"
+            + "import butterknife.ButterKnife;\n"
+            + "\n"
+            + "class SampleView extends View {\n"
+            + "  SampleView(Context context) {\n"
+            + "    super(context);\n"
+            + "  }\n"
+            + "\n"
+            + "  @Override protected void onDraw(Canvas canvas) {\n"
+            + "    ButterKnife.bind(this, this);\n"
+            + "  }\n"
+            + "}\n")) //
+        .issues(BindInHotCallbackDetector.ISSUE) //
+        .run() //
+        .expectWarningCount(1) //
+        .expectErrorCount(0);
+  }
+
+  @Test public void unrelatedBindMethod() {
+    lint() //
+        .files(BUTTER_KNIFE, RECYCLER_VIEW, java(""
+            + "package sample;\n"
+            + "\n"
+            + "import android.support.v7.widget.RecyclerView;\n"
+            + "import android.view.View;\n"
+            + "\n"
+            + "class SampleAdapter extends RecyclerView.Adapter<SampleAdapter.Holder> {\n"
+            + "  static final class Holder extends RecyclerView.ViewHolder {\n"
+            + "    Holder(View view) {\n"
+            + "      super(view);\n"
+            + "    }\n"
+            + "\n"
+            + "    void bind(int position) {}\n"
+            + "  }\n"
+            + "\n"
+            + "  @Override public void onBindViewHolder(Holder holder, int position) {\n"
+            + "    holder.bind(position);\n"
+            + "  }\n"
+            + "}\n")) //
+        .issues(BindInHotCallbackDetector.ISSUE) //
+        .run() //
+        .expectClean();
+  }
+}
@@ -134,4 +134,61 @@ public final class InvalidR2UsageDetectorTest {
         .run() //
         .expectClean();
   }
+
+  @Test public void skipsGeneratedBindings() {
+    lint() //
+        .files(R2, java(""
+            + "package sample.r2;\n"
+            + "\n"
+            + "public class Sample_ViewBinding {\n"
+            + "  int id = R2.id.res;\n"
+            + "}\n")) //
+        .issues(InvalidR2UsageDetector.ISSUE) //
+        .run() //
+        .expectClean();
+  }
+
+  @Test public void ignoresNonClassR2References() {
+    lint() //
+        .files(R2, java(""
+            + "package sample.r2;\n"
+            + "\n"
+            + "public class LocalR2 {\n"
+            + "  static final class Holder {\n"
+            + "    int id;\n"
+            + "  }\n"
+            + "\n"
+            + "  public int foo(Holder R2) {\n"
+            + "    return R2.id;\n"
+            + "  }\n"
+            + "}\n")) //
+        .issues(InvalidR2UsageDetector.ISSUE) //
+        .run() //
+        .expectClean();
+  }
+
+  @Test public void reportsEveryUsageInLargeFile() {
+    StringBuilder source = new StringBuilder(""
+        + "package sample.r2;\n"
+        + "\n"
+        + "public class ManyR2Usages {\n"
+        + "  public void foo(int value) {}\n"
+        + "\n");
+    int count = 500;
+    for (int i = 0; i < count; i++) {
+      source.append("  public void bar").append(i).append("() {\n")
+          .append("    int local = ").append(i).append(";\n")
+          .append("    foo(local);\n")
+          .append("    foo(R2.string.res);\n")
+          .append("  }\n");
+    }
+    source.append("}\n");
+
+    lint() //
+        .files(R2, java(source.toString())) //
+        .issues(InvalidR2UsageDetector.ISSUE) //
+        .run() //
+        .expectErrorCount(count) //
+        .expectWarningCount(0);
+  }
 }
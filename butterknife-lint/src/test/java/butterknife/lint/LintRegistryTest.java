@@ -6,6 +6,7 @@ import static com.google.common.truth.Truth.assertThat;
 
 public final class LintRegistryTest {
   @Test public void issues() {
-    assertThat(new LintRegistry().getIssues()).contains(InvalidR2UsageDetector.ISSUE);
+    assertThat(new LintRegistry().getIssues()).containsExactly(InvalidR2UsageDetector.ISSUE,
+        BindInHotCallbackDetector.ISSUE);
   }
 }
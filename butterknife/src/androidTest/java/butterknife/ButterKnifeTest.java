@@ -2,12 +2,24 @@ package butterknife;
 
 import android.annotation.TargetApi;
 import android.content.Context;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.test.InstrumentationRegistry;
 import android.support.test.filters.SdkSuppress;
 import android.util.Property;
+import android.view.LayoutInflater;
 import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+import butterknife.internal.ViewPathCache;
+import butterknife.test.R;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -15,6 +27,7 @@ import org.junit.Test;
 import static android.os.Build.VERSION_CODES.ICE_CREAM_SANDWICH;
 import static com.google.common.truth.Truth.assertThat;
 import static java.util.Arrays.asList;
+import static org.junit.Assert.fail;
 
 @TargetApi(ICE_CREAM_SANDWICH)
 @SdkSuppress(minSdkVersion = ICE_CREAM_SANDWICH)
@@ -51,6 +64,10 @@ public class ButterKnifeTest {
   @Before @After // Clear out cache of binders before and after each test.
   public void resetViewsCache() {
     ButterKnife.BINDINGS.clear();
+    ButterKnife.TABLE_BINDINGS.clear();
+    ButterKnife.registerBindingIndex(null);
+    ButterKnife.setBindingMonitor(null);
+    ButterKnife.setDebug(false);
   }
 
   @Test public void propertyAppliedToView() {
@@ -244,4 +261,264 @@ public class ButterKnifeTest {
     ButterKnife.bind(new Object(), view);
     assertThat(ButterKnife.BINDINGS).isEmpty();
   }
+
+  static class AsyncTarget {
+    @BindView(android.R.id.text1) TextView title;
+  }
+
+  @Test public void bindAsyncDeliversBoundViewOnMainThread() throws InterruptedException {
+    final AsyncTarget target = new AsyncTarget();
+    final AtomicReference<View> bound = new AtomicReference<>();
+    final AtomicBoolean onMainThread = new AtomicBoolean();
+    final CountDownLatch latch = new CountDownLatch(1);
+    ButterKnife.bindAsync(target, LayoutInflater.from(context), R.layout.async_row, null,
+        new ButterKnife.BindCallback() {
+          @Override public void onBind(@NonNull View view, @NonNull Unbinder unbinder) {
+            onMainThread.set(Looper.myLooper() == Looper.getMainLooper());
+            bound.set(view);
+            latch.countDown();
+          }
+        });
+
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(onMainThread.get()).isTrue();
+    assertThat(target.title).isSameAs(bound.get().findViewById(android.R.id.text1));
+  }
+
+  @Test public void monitorCountsCachedMissAsHit() {
+    class Example {
+    }
+
+    final List<Boolean> hits = new ArrayList<>();
+    final AtomicInteger resolved = new AtomicInteger();
+    ButterKnife.setBindingMonitor(new BindingMonitor() {
+      @Override public void onLookup(@NonNull Class<?> targetClass, boolean hit) {
+        hits.add(hit);
+      }
+
+      @Override public void onConstructorResolved(@NonNull Class<?> targetClass, long duration) {
+        resolved.incrementAndGet();
+      }
+    });
+    View view = new View(context);
+    ButterKnife.bind(new Example(), view);
+    ButterKnife.bind(new Example(), view);
+
+    assertThat(hits).containsExactly(false, true).inOrder();
+    assertThat(resolved.get()).isEqualTo(1);
+  }
+
+  static class TableTarget {
+    View title;
+    int clicks;
+  }
+
+  static final class TestBindingTable extends BindingTable {
+    TestBindingTable() {
+      super(new Class<?>[] { TableTarget.class }, new int[] { 0, 1 }, new int[] { 1 },
+          new Class<?>[] { View.class }, new int[] { REQUIRED | CLICK },
+          new String[] { "field 'title'" });
+    }
+
+    @Override protected void setField(int binding, Object target, View view) {
+      ((TableTarget) target).title = view;
+    }
+
+    @Override protected void click(int binding, Object target, View view) {
+      ((TableTarget) target).clicks++;
+    }
+  }
+
+  @Test public void bindsFromRegisteredTable() {
+    ButterKnife.registerBindingTable(new TestBindingTable());
+    FrameLayout source = new FrameLayout(context);
+    View title = new View(context);
+    title.setId(1);
+    source.addView(title);
+
+    TableTarget target = new TableTarget();
+    Unbinder unbinder = ButterKnife.bind(target, source);
+    assertThat(target.title).isSameAs(title);
+    title.performClick();
+    assertThat(target.clicks).isEqualTo(1);
+
+    unbinder.unbind();
+    assertThat(target.title).isNull();
+    assertThat(title.hasOnClickListeners()).isFalse();
+  }
+
+  static final class TestBindingIndex extends BindingIndex {
+    TestBindingIndex(String target) {
+      super(new int[] { target.hashCode() }, new String[] { target });
+    }
+  }
+
+  @Test public void bindingIndexSkipsUnlistedTargets() {
+    View view = LayoutInflater.from(context).inflate(R.layout.async_row, null);
+    ButterKnife.registerBindingIndex(new TestBindingIndex(TableTarget.class.getName()));
+    AsyncTarget unlisted = new AsyncTarget();
+    assertThat(ButterKnife.bind(unlisted, view)).isSameAs(Unbinder.EMPTY);
+    assertThat(unlisted.title).isNull();
+
+    ButterKnife.BINDINGS.clear();
+    ButterKnife.registerBindingIndex(new TestBindingIndex(AsyncTarget.class.getName()));
+    AsyncTarget listed = new AsyncTarget();
+    ButterKnife.bind(listed, view);
+    assertThat(listed.title).isSameAs(view.findViewById(android.R.id.text1));
+  }
+
+  @Test public void bindingIndexProbesUnlistedTargetsInDebug() {
+    View view = LayoutInflater.from(context).inflate(R.layout.async_row, null);
+    ButterKnife.setDebug(true);
+    ButterKnife.registerBindingIndex(new TestBindingIndex(TableTarget.class.getName()));
+    AsyncTarget unlisted = new AsyncTarget();
+    ButterKnife.bind(unlisted, view);
+    assertThat(unlisted.title).isSameAs(view.findViewById(android.R.id.text1));
+  }
+
+  static final class FactoryBindingIndex extends BindingIndex {
+    int created;
+
+    FactoryBindingIndex() {
+      super(new int[] { AsyncTarget.class.getName().hashCode() },
+          new String[] { AsyncTarget.class.getName() }, new boolean[] { true });
+    }
+
+    @Override protected Unbinder newBinding(int index, Object target, View source) {
+      assertThat(index).isEqualTo(0);
+      created++;
+      ((AsyncTarget) target).title = (TextView) source.findViewById(android.R.id.text1);
+      return Unbinder.EMPTY;
+    }
+  }
+
+  @Test public void bindingIndexCreatesBindingsWithoutReflection() {
+    View view = LayoutInflater.from(context).inflate(R.layout.async_row, null);
+    FactoryBindingIndex index = new FactoryBindingIndex();
+    ButterKnife.registerBindingIndex(index);
+
+    AsyncTarget first = new AsyncTarget();
+    ButterKnife.bind(first, view);
+    ButterKnife.bind(new AsyncTarget(), view);
+    assertThat(first.title).isSameAs(view.findViewById(android.R.id.text1));
+    assertThat(index.created).isEqualTo(2);
+    assertThat(ButterKnife.BINDINGS).isEmpty();
+  }
+
+  static class MissingTarget {
+    @BindView(android.R.id.text2) View missing;
+  }
+
+  @Test public void bindAllBindsEveryTargetAgainstOneSource() {
+    View view = LayoutInflater.from(context).inflate(R.layout.async_row, null);
+    AsyncTarget first = new AsyncTarget();
+    AsyncTarget second = new AsyncTarget();
+
+    Unbinder unbinder = ButterKnife.bindAll(asList(first, second), view);
+    assertThat(first.title).isSameAs(view.findViewById(android.R.id.text1));
+    assertThat(second.title).isSameAs(first.title);
+
+    unbinder.unbind();
+    assertThat(first.title).isNull();
+    assertThat(second.title).isNull();
+  }
+
+  @Test public void bindAllUnbindsBoundTargetsWhenOneFails() {
+    View view = LayoutInflater.from(context).inflate(R.layout.async_row, null);
+    AsyncTarget first = new AsyncTarget();
+    try {
+      ButterKnife.bindAll(asList(first, new MissingTarget()), view);
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage()).contains("field 'missing'");
+    }
+    assertThat(first.title).isNull();
+  }
+
+  static class SharedTarget {
+    View title;
+    boolean sharedLookup;
+  }
+
+  /** Stands in for a binding generated with the butterknife.holderPaths option. */
+  public static final class SharedTarget_ViewBinding implements Unbinder {
+    private static final ViewPathCache PATHS = new ViewPathCache(android.R.id.text1);
+
+    private SharedTarget target;
+
+    public SharedTarget_ViewBinding(SharedTarget target, View source) {
+      this(target, source, PATHS.find(source));
+      target.sharedLookup = false;
+    }
+
+    public SharedTarget_ViewBinding(SharedTarget target, View source, View[] views) {
+      this.target = target;
+      target.title = views[0];
+      target.sharedLookup = true;
+    }
+
+    @Override public void unbind() {
+      target.title = null;
+      target = null;
+    }
+  }
+
+  @Test public void bindAllSharesViewLookupsOfPathBindings() {
+    View view = LayoutInflater.from(context).inflate(R.layout.async_row, null);
+    SharedTarget first = new SharedTarget();
+    AsyncTarget second = new AsyncTarget();
+    SharedTarget third = new SharedTarget();
+
+    Unbinder unbinder = ButterKnife.bindAll(asList(first, second, third), view);
+    View title = view.findViewById(android.R.id.text1);
+    assertThat(first.title).isSameAs(title);
+    assertThat(first.sharedLookup).isTrue();
+    assertThat(second.title).isSameAs(title);
+    assertThat(third.title).isSameAs(title);
+    assertThat(third.sharedLookup).isTrue();
+
+    unbinder.unbind();
+    assertThat(first.title).isNull();
+    assertThat(second.title).isNull();
+    assertThat(third.title).isNull();
+  }
+
+  @Test public void bindAllLooksUpViewsPerTargetWhileMonitored() {
+    ButterKnife.setBindingMonitor(new BindingMonitor() {
+    });
+    View view = LayoutInflater.from(context).inflate(R.layout.async_row, null);
+    SharedTarget target = new SharedTarget();
+
+    ButterKnife.bindAll(asList(target), view);
+    assertThat(target.title).isSameAs(view.findViewById(android.R.id.text1));
+    assertThat(target.sharedLookup).isFalse();
+  }
+
+  static class FailingTarget {
+  }
+
+  public static final class FailingTarget_ViewBinding implements Unbinder {
+    static final IllegalStateException FAILURE = new IllegalStateException("unbind");
+
+    public FailingTarget_ViewBinding(FailingTarget target, View source) {
+    }
+
+    @Override public void unbind() {
+      throw FAILURE;
+    }
+  }
+
+  @SdkSuppress(minSdkVersion = 19) // Throwable.getSuppressed
+  @Test public void bindAllRethrowsBindFailureWhenCleanupFails() {
+    View view = LayoutInflater.from(context).inflate(R.layout.async_row, null);
+    AsyncTarget first = new AsyncTarget();
+    try {
+      ButterKnife.bindAll(asList(first, new FailingTarget(), new MissingTarget()), view);
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage()).contains("field 'missing'");
+      assertThat(e.getSuppressed()).asList().containsExactly(FailingTarget_ViewBinding.FAILURE);
+    }
+    assertThat(first.title).isNull();
+  }
 }
@@ -0,0 +1,111 @@
+package butterknife;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.filters.SdkSuppress;
+import android.view.View;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static android.os.Build.VERSION_CODES.ICE_CREAM_SANDWICH;
+import static com.google.common.truth.Truth.assertThat;
+
+@TargetApi(ICE_CREAM_SANDWICH)
+@SdkSuppress(minSdkVersion = ICE_CREAM_SANDWICH)
+public final class ViewBatchTest {
+  private static final int GROUP_SIZE = 200;
+
+  private final Context context = InstrumentationRegistry.getContext();
+
+  @Test public void appliesEverythingInOnePass() {
+    List<View> views = createViews();
+    final List<String> calls = new ArrayList<>();
+    ButterKnife.Action<View> action = new ButterKnife.Action<View>() {
+      @Override public void apply(@NonNull View view, int index) {
+        calls.add("action " + index);
+      }
+    };
+    ButterKnife.Setter<View, Boolean> setter = new ButterKnife.Setter<View, Boolean>() {
+      @Override public void set(@NonNull View view, Boolean value, int index) {
+        calls.add("setter " + index);
+        view.setEnabled(value);
+      }
+    };
+
+    ViewBatch.of(views.subList(0, 2))
+        .action(action)
+        .set(setter, false)
+        .set(View.ALPHA, 0.5f)
+        .apply();
+
+    assertThat(calls).containsExactly("action 0", "setter 0", "action 1", "setter 1").inOrder();
+    assertThat(views.get(0).isEnabled()).isFalse();
+    assertThat(views.get(1).getAlpha()).isEqualTo(0.5f);
+    assertThat(views.get(2).isEnabled()).isTrue();
+  }
+
+  @Test public void actionsOnlyRunOnce() {
+    CountingAction action = new CountingAction();
+    ViewBatch<View> batch = ViewBatch.of(createViews()).action(action);
+
+    batch.apply();
+    batch.apply();
+
+    assertThat(action.count).isEqualTo(GROUP_SIZE);
+  }
+
+  @Test public void unchangedSetterValueIsSkipped() {
+    CountingSetter setter = new CountingSetter();
+    ViewBatch<View> batch = ViewBatch.of(createViews());
+
+    batch.set(setter, false).apply();
+    batch.set(setter, false).apply();
+    assertThat(setter.count).isEqualTo(GROUP_SIZE);
+
+    batch.set(setter, true).apply();
+    assertThat(setter.count).isEqualTo(2 * GROUP_SIZE);
+
+    batch.reset();
+    batch.apply();
+    assertThat(setter.count).isEqualTo(3 * GROUP_SIZE);
+  }
+
+  @Test public void propertyDiffsAgainstEachView() {
+    List<View> views = createViews();
+    views.get(3).setAlpha(0f);
+
+    ViewBatch.of(views).set(View.ALPHA, 1f).apply();
+
+    for (View view : views) {
+      assertThat(view.getAlpha()).isEqualTo(1f);
+    }
+  }
+
+  private List<View> createViews() {
+    List<View> views = new ArrayList<>(GROUP_SIZE);
+    for (int i = 0; i < GROUP_SIZE; i++) {
+      views.add(new View(context));
+    }
+    return views;
+  }
+
+  static final class CountingAction implements ButterKnife.Action<View> {
+    int count;
+
+    @Override public void apply(@NonNull View view, int index) {
+      count++;
+    }
+  }
+
+  static final class CountingSetter implements ButterKnife.Setter<View, Boolean> {
+    int count;
+
+    @Override public void set(@NonNull View view, Boolean value, int index) {
+      count++;
+      view.setEnabled(value);
+    }
+  }
+}
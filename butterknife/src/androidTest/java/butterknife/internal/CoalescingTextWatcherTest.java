@@ -0,0 +1,127 @@
+package butterknife.internal;
+
+import android.app.Instrumentation;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+import android.text.Editable;
+import android.text.SpannableStringBuilder;
+import android.text.TextWatcher;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class CoalescingTextWatcherTest {
+  private final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+  private final RecordingWatcher delegate = new RecordingWatcher();
+
+  @Test public void debounceIsExtendedByEachChange() throws InterruptedException {
+    CoalescingTextWatcher watcher = CoalescingTextWatcher.debounce(delegate, 300);
+
+    changeText(watcher, "a");
+    Thread.sleep(150);
+    changeText(watcher, "ab");
+    Thread.sleep(200);
+    instrumentation.waitForIdleSync();
+    assertThat(delegate.changed).isEmpty();
+
+    Thread.sleep(300);
+    instrumentation.waitForIdleSync();
+    assertThat(delegate.changed).containsExactly("ab");
+  }
+
+  @Test public void throttleSpacesDeliveries() throws InterruptedException {
+    CoalescingTextWatcher watcher = CoalescingTextWatcher.throttle(delegate, 300);
+
+    changeText(watcher, "a");
+    instrumentation.waitForIdleSync();
+    assertThat(delegate.changed).containsExactly("a");
+
+    changeText(watcher, "ab");
+    instrumentation.waitForIdleSync();
+    assertThat(delegate.changed).containsExactly("a");
+
+    Thread.sleep(400);
+    instrumentation.waitForIdleSync();
+    assertThat(delegate.changed).containsExactly("a", "ab").inOrder();
+    assertThat(delegate.times.get(1) - delegate.times.get(0)).isAtLeast(300L);
+  }
+
+  @Test public void keepsOnlyLatestValues() throws InterruptedException {
+    final CoalescingTextWatcher watcher = CoalescingTextWatcher.debounce(delegate, 100);
+
+    instrumentation.runOnMainSync(new Runnable() {
+      @Override public void run() {
+        for (String text : new String[] {"a", "ab", "abc"}) {
+          watcher.onTextChanged(text, 0, 0, text.length());
+        }
+      }
+    });
+    Thread.sleep(200);
+    instrumentation.waitForIdleSync();
+
+    assertThat(delegate.changed).containsExactly("abc");
+    assertThat(delegate.changedCount).isEqualTo(3);
+  }
+
+  @Test public void deliversTextAsItWasBeforeTheChange() throws InterruptedException {
+    final CoalescingTextWatcher watcher = CoalescingTextWatcher.debounce(delegate, 100);
+
+    instrumentation.runOnMainSync(new Runnable() {
+      @Override public void run() {
+        SpannableStringBuilder text = new SpannableStringBuilder("ab");
+        watcher.beforeTextChanged(text, 2, 0, 1);
+        text.append('c');
+      }
+    });
+    Thread.sleep(200);
+    instrumentation.waitForIdleSync();
+
+    assertThat(delegate.before).containsExactly("ab");
+  }
+
+  @Test public void cancelDropsPendingDelivery() throws InterruptedException {
+    final CoalescingTextWatcher watcher = CoalescingTextWatcher.debounce(delegate, 100);
+
+    changeText(watcher, "a");
+    // Generated unbind methods cancel their watchers.
+    instrumentation.runOnMainSync(new Runnable() {
+      @Override public void run() {
+        watcher.cancel();
+      }
+    });
+    Thread.sleep(200);
+    instrumentation.waitForIdleSync();
+
+    assertThat(delegate.changed).isEmpty();
+  }
+
+  private void changeText(final CoalescingTextWatcher watcher, final String text) {
+    instrumentation.runOnMainSync(new Runnable() {
+      @Override public void run() {
+        watcher.onTextChanged(text, 0, 0, text.length());
+      }
+    });
+  }
+
+  static final class RecordingWatcher implements TextWatcher {
+    final List<String> before = new ArrayList<>();
+    final List<String> changed = new ArrayList<>();
+    final List<Long> times = new ArrayList<>();
+    int changedCount;
+
+    @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+      before.add(s.toString());
+    }
+
+    @Override public void onTextChanged(CharSequence s, int start, int before, int count) {
+      changed.add(s.toString());
+      times.add(SystemClock.uptimeMillis());
+      changedCount = count;
+    }
+
+    @Override public void afterTextChanged(Editable s) {
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package butterknife.internal;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.view.View;
+import org.junit.After;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class DebouncingOnClickListenerTest {
+  private final Context context = InstrumentationRegistry.getContext();
+
+  @After public void reset() {
+    DebouncingOnClickListener.setWindow(0);
+    DebouncingOnClickListener.enabled = true;
+  }
+
+  @Test public void frameModeBlocksAllViews() {
+    View view1 = new View(context);
+    View view2 = new View(context);
+    CountingListener listener1 = new CountingListener();
+    CountingListener listener2 = new CountingListener();
+
+    // Views are detached so the posted re-enable never runs, keeping the whole test in one frame.
+    for (int i = 0; i < 10; i++) {
+      listener1.onClick(view1);
+      listener2.onClick(view2);
+    }
+
+    assertThat(listener1.count).isEqualTo(1);
+    assertThat(listener2.count).isEqualTo(0);
+  }
+
+  @Test public void windowModeDebouncesEachViewIndependently() {
+    DebouncingOnClickListener.setWindow(60000);
+
+    View[] views = new View[5];
+    CountingListener[] listeners = new CountingListener[views.length];
+    for (int i = 0; i < views.length; i++) {
+      views[i] = new View(context);
+      listeners[i] = new CountingListener();
+    }
+
+    for (int round = 0; round < 100; round++) {
+      for (int i = 0; i < views.length; i++) {
+        listeners[i].onClick(views[i]);
+      }
+    }
+
+    for (CountingListener listener : listeners) {
+      assertThat(listener.count).isEqualTo(1);
+    }
+    assertThat(DebouncingOnClickListener.enabled).isTrue();
+  }
+
+  @Test public void windowModeAcceptsClicksAfterWindow() throws InterruptedException {
+    DebouncingOnClickListener.setWindow(50);
+
+    View view = new View(context);
+    CountingListener listener = new CountingListener();
+
+    listener.onClick(view);
+    listener.onClick(view);
+    assertThat(listener.count).isEqualTo(1);
+
+    Thread.sleep(100);
+    listener.onClick(view);
+    listener.onClick(view);
+    assertThat(listener.count).isEqualTo(2);
+  }
+
+  static final class CountingListener extends DebouncingOnClickListener {
+    int count;
+
+    @Override public void doClick(View v) {
+      count++;
+    }
+  }
+}
@@ -1,11 +1,17 @@
 package butterknife.internal;
 
 import android.content.Context;
+import android.graphics.drawable.Drawable;
 import android.support.test.InstrumentationRegistry;
 import android.view.View;
+import android.widget.FrameLayout;
+import butterknife.test.R;
+import org.junit.After;
 import org.junit.Test;
 
 import static butterknife.internal.Utils.arrayOf;
+import static butterknife.internal.Utils.compact;
+import static butterknife.internal.Utils.copyInto;
 import static butterknife.internal.Utils.listOf;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.fail;
@@ -31,6 +37,41 @@ public final class UtilsTest {
     assertThat(arrayOf(null, "One", "Two")).asList().containsExactly("One", "Two");
   }
 
+  @Test public void compactMovesNonNullToFront() {
+    String[] values = { null, "One", null, "Two" };
+    assertThat(compact(values)).isEqualTo(2);
+    assertThat(copyInto(values, new String[2])).asList().containsExactly("One", "Two").inOrder();
+
+    String[] full = { "One", "Two" };
+    assertThat(compact(full)).isEqualTo(2);
+    assertThat(full).asList().containsExactly("One", "Two").inOrder();
+  }
+
+  @After public void resetTintedDrawableCache() {
+    TintedDrawableCache.setMaxSize(TintedDrawableCache.DEFAULT_MAX_SIZE);
+  }
+
+  @Test public void tintedDrawableSharesCachedState() {
+    Context context = InstrumentationRegistry.getContext();
+    Drawable first = Utils.getTintedDrawable(context, R.drawable.circle,
+        android.R.attr.colorForeground);
+    Drawable second = Utils.getTintedDrawable(context, R.drawable.circle,
+        android.R.attr.colorForeground);
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getConstantState()).isSameAs(first.getConstantState());
+  }
+
+  @Test public void tintedDrawableCacheCanBeDisabled() {
+    TintedDrawableCache.setMaxSize(0);
+
+    Context context = InstrumentationRegistry.getContext();
+    Drawable first = Utils.getTintedDrawable(context, R.drawable.circle,
+        android.R.attr.colorForeground);
+    Drawable second = Utils.getTintedDrawable(context, R.drawable.circle,
+        android.R.attr.colorForeground);
+    assertThat(second.getConstantState()).isNotSameAs(first.getConstantState());
+  }
+
   @Test public void finderThrowsNiceError() {
     Context context = InstrumentationRegistry.getContext();
     View view = new View(context);
@@ -44,6 +85,20 @@ public final class UtilsTest {
     }
   }
 
+  @Test public void missingRequiredViewsReportsOnlyMissingIds() {
+    Context context = InstrumentationRegistry.getContext();
+    FrameLayout parent = new FrameLayout(context);
+    View child = new View(context);
+    child.setId(android.R.id.button1);
+    parent.addView(child);
+
+    IllegalStateException e =
+        Utils.missingRequiredViews(parent, android.R.id.button1, android.R.id.button2);
+    assertThat(e).hasMessage("Required views 'button2' with ID "
+        + android.R.id.button2
+        + " were not found. If a view is optional add '@Nullable' (fields) or '@Optional' (methods) annotation.");
+  }
+
   @Test public void finderThrowsLessNiceErrorInEditMode() {
     Context context = InstrumentationRegistry.getContext();
     View view = new EditModeView(context);
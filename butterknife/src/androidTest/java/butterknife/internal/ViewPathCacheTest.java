@@ -0,0 +1,69 @@
+package butterknife.internal;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class ViewPathCacheTest {
+  private final Context context = InstrumentationRegistry.getContext();
+  private final ViewPathCache cache = new ViewPathCache(1, 2, 3);
+
+  @Test public void findsViewsOfSameStructure() {
+    for (int i = 0; i < 3; i++) {
+      View[] views = cache.find(row());
+      assertThat(views[0].getId()).isEqualTo(1);
+      assertThat(views[1].getId()).isEqualTo(2);
+      assertThat(views[2]).isNull();
+    }
+  }
+
+  @Test public void fallsBackWhenStructureDiffers() {
+    cache.find(row());
+
+    LinearLayout reordered = new LinearLayout(context);
+    reordered.addView(view(2));
+    FrameLayout nested = new FrameLayout(context);
+    nested.addView(view(1));
+    reordered.addView(nested);
+    View[] views = cache.find(reordered);
+    assertThat(views[0].getId()).isEqualTo(1);
+    assertThat(views[1].getId()).isEqualTo(2);
+
+    View[] again = cache.find(row());
+    assertThat(again[0].getId()).isEqualTo(1);
+    assertThat(again[1].getId()).isEqualTo(2);
+  }
+
+  @Test public void findsViewWhichWasMissingBefore() {
+    cache.find(row());
+
+    LinearLayout row = row();
+    row.addView(view(3));
+    View[] views = cache.find(row);
+    assertThat(views[2].getId()).isEqualTo(3);
+  }
+
+  @Test public void findsSource() {
+    View source = view(1);
+    assertThat(cache.find(source)[0]).isSameAs(source);
+    assertThat(cache.find(source)[0]).isSameAs(source);
+  }
+
+  private LinearLayout row() {
+    LinearLayout row = new LinearLayout(context);
+    row.addView(view(1));
+    row.addView(view(2));
+    return row;
+  }
+
+  private View view(int id) {
+    View view = new View(context);
+    view.setId(id);
+    return view;
+  }
+}
@@ -0,0 +1,71 @@
+package butterknife.internal;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.view.View;
+import android.view.ViewStub;
+import android.widget.FrameLayout;
+import butterknife.test.R;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class ViewStubBinderTest {
+  private static final int STUB_ID = 1;
+
+  private final Context context = InstrumentationRegistry.getContext();
+
+  @Test public void parentAndChildBindingsShareStub() {
+    FrameLayout source = new FrameLayout(context);
+    ViewStub stub = stub(source);
+    // A subclass binding attaches its binder after the one of its parent.
+    RecordingBinder parent = new RecordingBinder();
+    RecordingBinder child = new RecordingBinder();
+    parent.attach(source, STUB_ID);
+    child.attach(source, STUB_ID);
+
+    View inflated = stub.inflate();
+    assertThat(parent.bound).containsExactly(inflated);
+    assertThat(child.bound).containsExactly(inflated);
+  }
+
+  @Test public void cancelLeavesOtherBinderWaiting() {
+    FrameLayout source = new FrameLayout(context);
+    ViewStub stub = stub(source);
+    RecordingBinder parent = new RecordingBinder();
+    RecordingBinder child = new RecordingBinder();
+    parent.attach(source, STUB_ID);
+    child.attach(source, STUB_ID);
+    child.cancel();
+
+    View inflated = stub.inflate();
+    assertThat(parent.bound).containsExactly(inflated);
+    assertThat(child.bound).isEmpty();
+  }
+
+  @Test public void bindsRightAwayWhenAlreadyInflated() {
+    FrameLayout source = new FrameLayout(context);
+    stub(source).inflate();
+    RecordingBinder binder = new RecordingBinder();
+    binder.attach(source, STUB_ID);
+
+    assertThat(binder.bound).containsExactly(source);
+  }
+
+  private ViewStub stub(FrameLayout source) {
+    ViewStub stub = new ViewStub(context, R.layout.async_row);
+    stub.setId(STUB_ID);
+    source.addView(stub);
+    return stub;
+  }
+
+  static final class RecordingBinder extends ViewStubBinder {
+    final List<View> bound = new ArrayList<>();
+
+    @Override public void doBind(View source) {
+      bound.add(source);
+    }
+  }
+}
@@ -0,0 +1,259 @@
+package butterknife;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link BindingMonitor} which aggregates lookups and latencies per target class.
+ * <p>
+ * Latencies are recorded into log-linear buckets, in the spirit of HdrHistogram, so that memory
+ * use is fixed per class and percentiles are accurate to within an eighth of their value.
+ * <pre><code>
+ * AggregatingBindingMonitor monitor = new AggregatingBindingMonitor();
+ * ButterKnife.setBindingMonitor(monitor);
+ * // Later, e.g. from a debug drawer:
+ * Log.d("Binds", monitor.dump());
+ * </code></pre>
+ */
+public final class AggregatingBindingMonitor extends BindingMonitor {
+  private final Map<Class<?>, Stats> stats = new LinkedHashMap<>();
+
+  @Override public synchronized void onLookup(@NonNull Class<?> targetClass, boolean hit) {
+    Stats stats = statsFor(targetClass);
+    if (hit) {
+      stats.lookupHits++;
+    } else {
+      stats.lookupMisses++;
+    }
+  }
+
+  @Override public synchronized void onConstructorResolved(@NonNull Class<?> targetClass,
+      long durationNanos) {
+    statsFor(targetClass).resolveTimes.record(durationNanos);
+  }
+
+  @Override public synchronized void onBind(@NonNull Class<?> targetClass, long durationNanos) {
+    statsFor(targetClass).bindTimes.record(durationNanos);
+  }
+
+  @Override public synchronized void onUnbind(@NonNull Class<?> targetClass, long durationNanos) {
+    statsFor(targetClass).unbindTimes.record(durationNanos);
+  }
+
+  /** Returns a copy of the statistics for {@code targetClass}, or null if none were recorded. */
+  @Nullable
+  public synchronized Stats getStats(@NonNull Class<?> targetClass) {
+    Stats stats = this.stats.get(targetClass);
+    return stats != null ? new Stats(stats) : null;
+  }
+
+  /** Forget everything which was recorded. */
+  public synchronized void reset() {
+    stats.clear();
+  }
+
+  /**
+   * Returns a human-readable report with one section per target class, slowest total bind time
+   * first.
+   */
+  @NonNull
+  public synchronized String dump() {
+    List<Map.Entry<Class<?>, Stats>> entries = new ArrayList<>(stats.entrySet());
+    Collections.sort(entries, new Comparator<Map.Entry<Class<?>, Stats>>() {
+      @Override public int compare(Map.Entry<Class<?>, Stats> a, Map.Entry<Class<?>, Stats> b) {
+        long aTotal = a.getValue().bindTimes.getTotal();
+        long bTotal = b.getValue().bindTimes.getTotal();
+        return aTotal < bTotal ? 1 : (aTotal == bTotal ? 0 : -1);
+      }
+    });
+
+    StringBuilder builder = new StringBuilder();
+    for (Map.Entry<Class<?>, Stats> entry : entries) {
+      Stats stats = entry.getValue();
+      builder.append(entry.getKey().getName())
+          .append(": ")
+          .append(stats.lookupHits)
+          .append(" cached lookups, ")
+          .append(stats.lookupMisses)
+          .append(" uncached\n");
+      appendHistogram(builder, "resolve", stats.resolveTimes);
+      appendHistogram(builder, "bind", stats.bindTimes);
+      appendHistogram(builder, "unbind", stats.unbindTimes);
+    }
+    return builder.toString();
+  }
+
+  private static void appendHistogram(StringBuilder builder, String name, Histogram histogram) {
+    if (histogram.getCount() == 0) {
+      return;
+    }
+    builder.append(String.format(Locale.US,
+        "  %-7s n=%d mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms\n", name,
+        histogram.getCount(), millis(histogram.getMean()), millis(histogram.getPercentile(50)),
+        millis(histogram.getPercentile(90)), millis(histogram.getPercentile(99)),
+        millis(histogram.getMax())));
+  }
+
+  private static double millis(double nanos) {
+    return nanos / 1000000d;
+  }
+
+  private Stats statsFor(Class<?> targetClass) {
+    Stats stats = this.stats.get(targetClass);
+    if (stats == null) {
+      stats = new Stats();
+      this.stats.put(targetClass, stats);
+    }
+    return stats;
+  }
+
+  /** Lookups and latencies recorded for one target class. */
+  public static final class Stats {
+    long lookupHits;
+    long lookupMisses;
+    final Histogram resolveTimes;
+    final Histogram bindTimes;
+    final Histogram unbindTimes;
+
+    Stats() {
+      resolveTimes = new Histogram();
+      bindTimes = new Histogram();
+      unbindTimes = new Histogram();
+    }
+
+    Stats(Stats other) {
+      lookupHits = other.lookupHits;
+      lookupMisses = other.lookupMisses;
+      resolveTimes = new Histogram(other.resolveTimes);
+      bindTimes = new Histogram(other.bindTimes);
+      unbindTimes = new Histogram(other.unbindTimes);
+    }
+
+    public long getLookupHits() {
+      return lookupHits;
+    }
+
+    public long getLookupMisses() {
+      return lookupMisses;
+    }
+
+    /** Time spent resolving binding constructors which were not cached. */
+    @NonNull
+    public Histogram getResolveTimes() {
+      return resolveTimes;
+    }
+
+    /** Time spent constructing bindings. */
+    @NonNull
+    public Histogram getBindTimes() {
+      return bindTimes;
+    }
+
+    /** Time spent unbinding. */
+    @NonNull
+    public Histogram getUnbindTimes() {
+      return unbindTimes;
+    }
+  }
+
+  /**
+   * A histogram of nanosecond durations. Values are bucketed by their highest set bit and the
+   * three bits which follow it.
+   */
+  public static final class Histogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts;
+    private long count;
+    private long total;
+    private long max;
+
+    Histogram() {
+      counts = new long[BUCKETS];
+    }
+
+    Histogram(Histogram other) {
+      counts = other.counts.clone();
+      count = other.count;
+      total = other.total;
+      max = other.max;
+    }
+
+    void record(long value) {
+      if (value < 0) {
+        value = 0;
+      }
+      counts[indexOf(value)]++;
+      count++;
+      total += value;
+      if (value > max) {
+        max = value;
+      }
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getTotal() {
+      return total;
+    }
+
+    public long getMax() {
+      return max;
+    }
+
+    public double getMean() {
+      return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Returns the lower bound of the bucket containing the value at {@code percentile}, which must
+     * be between 0 and 100. Exact for values below 16.
+     */
+    public long getPercentile(double percentile) {
+      if (percentile < 0 || percentile > 100) {
+        throw new IllegalArgumentException("percentile not in [0, 100]: " + percentile);
+      }
+      if (count == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.min(lowestValueOf(i), max);
+        }
+      }
+      return max;
+    }
+
+    static int indexOf(long value) {
+      if (value < 2 * SUB_BUCKETS) {
+        return (int) value;
+      }
+      int exponent = 63 - Long.numberOfLeadingZeros(value);
+      int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+      return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowestValueOf(int index) {
+      if (index < 2 * SUB_BUCKETS) {
+        return index;
+      }
+      int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+      long subBucket = index % SUB_BUCKETS;
+      return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package butterknife;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.LayoutRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/** Inflates layouts on a background thread for {@link ButterKnife#bindAsync}. */
+final class AsyncBinder {
+  private static final String TAG = "ButterKnife";
+
+  private AsyncBinder() {
+    throw new AssertionError("No instances.");
+  }
+
+  @UiThread
+  static void bind(@NonNull final Object target, @NonNull final LayoutInflater inflater,
+      @LayoutRes final int layoutId, @Nullable final ViewGroup parent,
+      @NonNull final ButterKnife.BindCallback callback) {
+    // LayoutInflater is not thread-safe so the background thread gets its own.
+    final LayoutInflater backgroundInflater = inflater.cloneInContext(inflater.getContext());
+    Threads.BACKGROUND.execute(new Runnable() {
+      @Override public void run() {
+        loadBindingClass(target.getClass());
+
+        View inflated = null;
+        try {
+          inflated = backgroundInflater.inflate(layoutId, parent, false);
+        } catch (RuntimeException e) {
+          Log.w(TAG, "Failed to inflate layout off the main thread. Inflating on the main thread.",
+              e);
+        }
+
+        final View view = inflated;
+        Threads.MAIN.post(new Runnable() {
+          @Override public void run() {
+            View source = view != null ? view : inflater.inflate(layoutId, parent, false);
+            callback.onBind(source, ButterKnife.bind(target, source));
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Loads and initializes the binding class of {@code cls} so that resolving its constructor on the
+   * main thread finds it already loaded.
+   */
+  private static void loadBindingClass(Class<?> cls) {
+    for (; cls != null; cls = cls.getSuperclass()) {
+      String clsName = cls.getName();
+      if (clsName.startsWith("android.") || clsName.startsWith("java.")) {
+        return;
+      }
+      try {
+        Class.forName(clsName + "_ViewBinding", true, cls.getClassLoader());
+        return;
+      } catch (ClassNotFoundException ignored) {
+        // Try the superclass.
+      }
+    }
+  }
+
+  /** Created on first use so that apps which never bind asynchronously start no thread. */
+  private static final class Threads {
+    static final Handler MAIN = new Handler(Looper.getMainLooper());
+    static final Executor BACKGROUND = Executors.newSingleThreadExecutor(new ThreadFactory() {
+      @Override public Thread newThread(@NonNull Runnable runnable) {
+        Thread thread = new Thread(runnable, "ButterKnife-async");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+}
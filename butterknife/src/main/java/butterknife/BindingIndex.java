@@ -0,0 +1,87 @@
+package butterknife;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+import java.util.Arrays;
+
+/**
+ * Every target with a generated {@code _ViewBinding} class in an application and the modules it
+ * depends on. Compile library modules with the {@code butterknife.indexModule=<name>} annotation
+ * processor option and the application module with {@code butterknife.aggregateIndex=true} to
+ * generate a {@code butterknife.index.ButterKnifeBindingIndex}, and pass an instance of it to
+ * {@link ButterKnife#registerBindingIndex} before binding.
+ * <p>
+ * Once an index is registered, classes which it does not list are only probed for a binding
+ * class while debug logging is enabled, so every module with bindings must be compiled with one of
+ * the options above. Targets
+ * which the generated index can reach are bound through {@link #newBinding} without reflection.
+ */
+public abstract class BindingIndex {
+  private final int[] hashes;
+  private final String[] targets;
+  private final boolean[] factories;
+
+  /**
+   * @param hashes The {@link String#hashCode()} of each target name, in ascending order.
+   * @param targets The binary name of each target, in the order of their hashes.
+   */
+  protected BindingIndex(int[] hashes, String[] targets) {
+    this(hashes, targets, new boolean[targets.length]);
+  }
+
+  /**
+   * @param hashes The {@link String#hashCode()} of each target name, in ascending order.
+   * @param targets The binary name of each target, in the order of their hashes.
+   * @param factories Whether {@link #newBinding} can create the binding of each target.
+   */
+  protected BindingIndex(int[] hashes, String[] targets, boolean[] factories) {
+    if (hashes.length != targets.length) {
+      throw new IllegalArgumentException(
+          "Hash count " + hashes.length + " != target count " + targets.length);
+    }
+    if (factories.length != targets.length) {
+      throw new IllegalArgumentException(
+          "Factory count " + factories.length + " != target count " + targets.length);
+    }
+    this.hashes = hashes;
+    this.targets = targets;
+    this.factories = factories;
+  }
+
+  /** True if {@code className} has a generated binding class. */
+  boolean contains(@NonNull String className) {
+    return indexOf(className) >= 0;
+  }
+
+  /** Returns the position of {@code className} in this index, or -1 if it is not listed. */
+  int indexOf(@NonNull String className) {
+    int hash = className.hashCode();
+    int index = Arrays.binarySearch(hashes, hash);
+    if (index < 0) {
+      return -1;
+    }
+    while (index > 0 && hashes[index - 1] == hash) {
+      index--;
+    }
+    for (; index < hashes.length && hashes[index] == hash; index++) {
+      if (targets[index].equals(className)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /** True if {@link #newBinding} can create the binding of the target at {@code index}. */
+  boolean hasFactory(int index) {
+    return factories[index];
+  }
+
+  /**
+   * Creates the binding of the target at {@code index}, for which {@link #hasFactory} is true, for
+   * {@code target}, an instance of that class or of a subclass without bindings of its own.
+   */
+  @NonNull
+  protected Unbinder newBinding(int index, @NonNull Object target, @NonNull View source) {
+    throw new UnsupportedOperationException("No binding factory for " + targets[index]);
+  }
+}
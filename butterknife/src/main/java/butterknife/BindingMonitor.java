@@ -0,0 +1,51 @@
+package butterknife;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.UiThread;
+
+/**
+ * Receives timings for the binds performed by {@link ButterKnife}. Install with
+ * {@link ButterKnife#setBindingMonitor(BindingMonitor)}. Every callback is a no-op by default so
+ * implementations only override what they need.
+ * <p>
+ * Callbacks are invoked synchronously on the thread doing the binding and should be cheap. All
+ * durations are in nanoseconds. See {@link AggregatingBindingMonitor} for a ready-made
+ * implementation which keeps latency histograms per target class.
+ */
+public abstract class BindingMonitor {
+  /**
+   * Called for each bind once its binding constructor has been looked up. A {@code hit} means it
+   * was already cached.
+   */
+  @UiThread
+  public void onLookup(@NonNull Class<?> targetClass, boolean hit) {
+  }
+
+  /** Called when a binding constructor which was not cached was resolved. */
+  @UiThread
+  public void onConstructorResolved(@NonNull Class<?> targetClass, long durationNanos) {
+  }
+
+  /** Called when the binding of {@code targetClass} has been constructed. */
+  @UiThread
+  public void onBind(@NonNull Class<?> targetClass, long durationNanos) {
+  }
+
+  /** Called when a binding of {@code targetClass} has been unbound. */
+  @UiThread
+  public void onUnbind(@NonNull Class<?> targetClass, long durationNanos) {
+  }
+
+  /**
+   * Called whenever unbinders are added to {@code scope} or it is unbound, with its new
+   * {@code size}. A size which keeps growing hints at a scope which is never unbound.
+   */
+  @UiThread
+  public void onScopeChanged(@NonNull UnbinderScope scope, int size) {
+  }
+
+  /** Called when {@code scope} has unbound {@code count} unbinders. */
+  @UiThread
+  public void onScopeUnbind(@NonNull UnbinderScope scope, int count, long durationNanos) {
+  }
+}
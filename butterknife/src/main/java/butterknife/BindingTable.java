@@ -0,0 +1,158 @@
+package butterknife;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.UiThread;
+import android.view.View;
+import butterknife.internal.DebouncingOnClickListener;
+import butterknife.internal.Utils;
+import java.util.Map;
+
+/**
+ * The view bindings of many targets described as arrays and interpreted by one engine, instead of
+ * a generated {@code _ViewBinding} class per target. Compile with the
+ * {@code butterknife.bindingTable=true} annotation processor option to generate a
+ * {@code ButterKnifeBindingTable} in each package, and pass an instance of each to
+ * {@link ButterKnife#registerBindingTable} before binding.
+ * <p>
+ * Only targets whose bindings are {@link BindView} fields and {@link OnClick} methods are put in a
+ * table. All other targets keep their generated binding class.
+ */
+public abstract class BindingTable {
+  /** The view must be present. */
+  protected static final int REQUIRED = 1;
+  /** The view has {@link OnClick} methods. */
+  protected static final int CLICK = 1 << 1;
+
+  private final Class<?>[] targets;
+  private final int[] offsets;
+  private final int[] ids;
+  private final Class<?>[] types;
+  private final int[] flags;
+  private final String[] descriptions;
+
+  /**
+   * @param targets The target classes.
+   * @param offsets The index of the first binding of each target, followed by the total count.
+   * @param ids The view ID of each binding, or {@link View#NO_ID} for the source view.
+   * @param types The type of the field of each binding, or null if it has none.
+   * @param flags The {@link #REQUIRED} and {@link #CLICK} flags of each binding.
+   * @param descriptions The members of each binding, as reported when its view is missing or of
+   * the wrong type.
+   */
+  protected BindingTable(Class<?>[] targets, int[] offsets, int[] ids, Class<?>[] types,
+      int[] flags, String[] descriptions) {
+    this.targets = targets;
+    this.offsets = offsets;
+    this.ids = ids;
+    this.types = types;
+    this.flags = flags;
+    this.descriptions = descriptions;
+  }
+
+  /** Assigns {@code view} to the field of {@code binding} in {@code target}. */
+  protected void setField(int binding, Object target, View view) {
+    throw new AssertionError("No field for binding " + binding);
+  }
+
+  /** Invokes the {@link OnClick} methods of {@code binding} on {@code target}. */
+  protected void click(int binding, Object target, View view) {
+    throw new AssertionError("No click for binding " + binding);
+  }
+
+  void registerTo(Map<Class<?>, Target> bindings) {
+    for (int i = 0; i < targets.length; i++) {
+      bindings.put(targets[i], new Target(this, offsets[i], offsets[i + 1]));
+    }
+  }
+
+  /** The bindings of one target class in a table. */
+  static final class Target {
+    private final BindingTable table;
+    private final int start;
+    private final int end;
+
+    Target(BindingTable table, int start, int end) {
+      this.table = table;
+      this.start = start;
+      this.end = end;
+    }
+
+    @UiThread
+    Unbinder bind(Object target, View source) {
+      BindingTable table = this.table;
+      View[] views = new View[end - start];
+      for (int i = start; i < end; i++) {
+        int id = table.ids[i];
+        int flags = table.flags[i];
+        String who = table.descriptions[i];
+        View view;
+        if (id == View.NO_ID) {
+          view = source;
+        } else if ((flags & REQUIRED) != 0) {
+          view = Utils.findRequiredView(source, id, who);
+        } else {
+          view = source.findViewById(id);
+        }
+        Class<?> type = table.types[i];
+        if (type != null) {
+          table.setField(i, target, (View) Utils.castView(view, id, who, type));
+        }
+        if ((flags & CLICK) != 0 && view != null) {
+          view.setOnClickListener(new TableOnClickListener(table, i, target));
+        }
+        views[i - start] = view;
+      }
+      return new TableUnbinder(this, target, views);
+    }
+
+    @UiThread
+    void unbind(Object target, View[] views) {
+      BindingTable table = this.table;
+      for (int i = start; i < end; i++) {
+        if (table.types[i] != null) {
+          table.setField(i, target, null);
+        }
+        View view = views[i - start];
+        if ((table.flags[i] & CLICK) != 0 && view != null) {
+          view.setOnClickListener(null);
+        }
+      }
+    }
+  }
+
+  private static final class TableUnbinder implements Unbinder {
+    private final Target bindings;
+    private final View[] views;
+    private Object target;
+
+    TableUnbinder(Target bindings, Object target, View[] views) {
+      this.bindings = bindings;
+      this.target = target;
+      this.views = views;
+    }
+
+    @Override public void unbind() {
+      Object target = this.target;
+      if (target == null) throw new IllegalStateException("Bindings already cleared.");
+      this.target = null;
+      bindings.unbind(target, views);
+    }
+  }
+
+  /** The one click listener class shared by the {@link OnClick} methods of every table. */
+  private static final class TableOnClickListener extends DebouncingOnClickListener {
+    private final BindingTable table;
+    private final int binding;
+    private final Object target;
+
+    TableOnClickListener(@NonNull BindingTable table, int binding, @NonNull Object target) {
+      this.table = table;
+      this.binding = binding;
+      this.target = target;
+    }
+
+    @Override public void doClick(View v) {
+      table.click(binding, target, v);
+    }
+  }
+}
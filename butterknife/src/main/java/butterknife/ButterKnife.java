@@ -5,16 +5,25 @@ import android.app.Activity;
 import android.app.Dialog;
 import android.os.Build;
 import android.support.annotation.CheckResult;
+import android.support.annotation.LayoutRes;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.RequiresApi;
 import android.support.annotation.UiThread;
 import android.support.annotation.VisibleForTesting;
+import android.support.v4.os.TraceCompat;
 import android.util.Log;
 import android.util.Property;
+import android.view.LayoutInflater;
 import android.view.View;
+import android.view.ViewGroup;
+
+import butterknife.internal.DebouncingOnClickListener;
+import butterknife.internal.TintedDrawableCache;
+import butterknife.internal.ViewPathCache;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -54,6 +63,8 @@ import java.util.Map;
  * <li>{@link #apply(List, Setter, Object)} &ndash; Applies a setter value to each view.</li>
  * <li>{@link #apply(List, Property, Object)} &ndash; Applies a property value to each view.</li>
  * </ul>
+ * Use a {@link ViewBatch} to apply several of these in a single pass, skipping values which are
+ * already set.
  * <p>
  * To bind listeners to your views you can annotate your methods:
  * <pre><code>
@@ -109,11 +120,36 @@ public final class ButterKnife {
         void set(@NonNull T view, V value, int index);
     }
 
+    /**
+     * Receives the view and binding created by
+     * {@link #bindAsync(Object, LayoutInflater, int, ViewGroup, BindCallback)}.
+     */
+    public interface BindCallback {
+        /**
+         * Called once {@code view} has been inflated and bound. The view has not been attached to
+         * the parent which was supplied for its layout parameters.
+         */
+        @UiThread
+        void onBind(@NonNull View view, @NonNull Unbinder unbinder);
+    }
+
     private static final String TAG = "ButterKnife";
+    private static final int MAX_SECTION_NAME_LENGTH = 127;
     private static boolean debug = false;
+    private static boolean trace = false;
+    // 监控和启动记录放在同一个对象中，绑定时只需读取一次 volatile 字段，两者都没有设置时为 null
+    private static volatile Hooks hooks;
+    private static BindingIndex index; // 为 null 时逐个类尝试加载 _ViewBinding 类
 
     @VisibleForTesting
     static final Map<Class<?>, Constructor<? extends Unbinder>> BINDINGS = new LinkedHashMap<>();
+    @VisibleForTesting
+    static final Map<Class<?>, BindingTable.Target> TABLE_BINDINGS = new LinkedHashMap<>();
+    // 目标类在注册的索引中对应的工厂位置，为 -1 表示没有工厂，需要通过反射创建绑定
+    @VisibleForTesting
+    static final Map<Class<?>, Integer> INDEXED_BINDINGS = new LinkedHashMap<>();
+    // 目标类的绑定类中接收 bindAll 共享查找的视图的构造函数，为 null 表示该绑定类自己查找视图
+    private static final Map<Class<?>, SharedBinding> SHARED_BINDINGS = new LinkedHashMap<>();
 
     /**
      * Control whether debug logging is enabled.
@@ -122,6 +158,85 @@ public final class ButterKnife {
         ButterKnife.debug = debug;
     }
 
+    /**
+     * Control whether each bind is wrapped in a {@link android.os.Trace} section named after its
+     * target class. Compile with the {@code butterknife.trace=true} annotation processor option to
+     * also break the generated bindings down into view, listener, and resource sections.
+     */
+    public static void setTrace(boolean trace) {
+        ButterKnife.trace = trace;
+    }
+
+    /**
+     * Set a {@link BindingMonitor} to receive timings for every bind and unbind, or null to stop
+     * monitoring. While a monitor is set, the returned {@link Unbinder} is a wrapper which times
+     * the unbind rather than the generated binding itself.
+     */
+    public static synchronized void setBindingMonitor(@Nullable BindingMonitor monitor) {
+        Hooks hooks = ButterKnife.hooks;
+        ButterKnife.hooks = Hooks.of(monitor, hooks != null ? hooks.profile : null);
+    }
+
+    @Nullable
+    static BindingMonitor getBindingMonitor() {
+        Hooks hooks = ButterKnife.hooks;
+        return hooks != null ? hooks.monitor : null;
+    }
+
+    /**
+     * Set a {@link StartupProfile} to record the binding classes loaded by first binds, or null to
+     * stop recording. Off by default.
+     */
+    public static synchronized void setStartupProfile(@Nullable StartupProfile profile) {
+        Hooks hooks = ButterKnife.hooks;
+        ButterKnife.hooks = Hooks.of(hooks != null ? hooks.monitor : null, profile);
+    }
+
+    /**
+     * Register the targets of a {@link BindingTable} generated by the
+     * {@code butterknife.bindingTable=true} annotation processor option. Targets which have no
+     * generated binding class are bound from the table they were last registered with.
+     */
+    @UiThread
+    public static void registerBindingTable(@NonNull BindingTable table) {
+        table.registerTo(TABLE_BINDINGS);
+    }
+
+    /**
+     * Register the {@link BindingIndex} generated for the application by the
+     * {@code butterknife.aggregateIndex=true} annotation processor option, or null to stop using
+     * it. Classes which the index does not list are then skipped without trying to load a binding
+     * class for them, and listed ones are bound by the index without reflection where it can. While
+     * {@linkplain #setDebug debug logging} is enabled, a class which is not listed is still probed
+     * and a warning is logged if it does have a binding class.
+     */
+    @UiThread
+    public static void registerBindingIndex(@Nullable BindingIndex index) {
+        ButterKnife.index = index;
+        INDEXED_BINDINGS.clear();
+    }
+
+    /**
+     * Control how many tinted drawables created for {@link BindDrawable#tint()} are cached. Binding
+     * a cached drawable creates a new instance from its shared constant state instead of loading,
+     * mutating, and tinting it again. A size of zero disables the cache.
+     */
+    @UiThread
+    public static void setTintedDrawableCacheSize(int maxSize) {
+        TintedDrawableCache.setMaxSize(maxSize);
+    }
+
+    /**
+     * Control how {@link OnClick} methods are debounced. By default a click on one view ignores
+     * clicks on all views until the next frame. A positive {@code windowMillis} instead ignores
+     * repeated clicks per view binding for that long after an accepted click, without affecting
+     * other views. Zero restores the default.
+     */
+    @UiThread
+    public static void setClickDebounceWindow(long windowMillis) {
+        DebouncingOnClickListener.setWindow(windowMillis);
+    }
+
     /**
      * BindView annotated fields and methods in the specified {@link Activity}. The current content
      * view is used as the view root.
@@ -201,22 +316,215 @@ public final class ButterKnife {
         return createBinding(target, sourceView);
     }
 
+    /**
+     * BindView annotated fields and methods in each of the {@code targets} using the same
+     * {@code source} {@link View} as the view root, e.g. a fragment and the holders of the layouts
+     * it includes. Targets whose bindings were generated with the
+     * {@code butterknife.holderPaths=true} annotation processor option for a non-debuggable build
+     * share one walk of the hierarchy which finds the views of all of them. Other targets look up
+     * their own views as with {@link #bind(Object, View)}, as do all targets while a
+     * {@link BindingMonitor}, a {@link StartupProfile} or tracing is enabled so that each bind is
+     * reported. If binding one target fails the targets bound before it are unbound again.
+     *
+     * @param targets Target classes for view binding, bound in order.
+     * @param source View root on which IDs will be looked up.
+     * @return An {@link UnbinderScope} which unbinds all targets in reverse order.
+     */
+    @NonNull
+    @UiThread
+    public static Unbinder bindAll(@NonNull List<?> targets, @NonNull View source) {
+        int count = targets.size();
+        SharedBinding[] shared = new SharedBinding[count];
+        SharedViews views = null;
+        if (hooks == null && !trace) {
+            for (int i = 0; i < count; i++) {
+                shared[i] = findSharedBindingForClass(targets.get(i).getClass());
+                if (shared[i] != null) {
+                    if (views == null) {
+                        views = new SharedViews();
+                    }
+                    views.addIds(shared[i].ids);
+                }
+            }
+            if (views != null) {
+                views.find(source);
+            }
+        }
+
+        UnbinderScope scope = new UnbinderScope();
+        try {
+            for (int i = 0; i < count; i++) {
+                Object target = targets.get(i);
+                scope.add(shared[i] != null
+                        ? newBinding(shared[i].constructor, target, source, views.get(shared[i].ids))
+                        : createBinding(target, source));
+            }
+        } catch (RuntimeException | Error e) {
+            try {
+                scope.unbind();
+            } catch (RuntimeException cleanup) {
+                UnbinderScope.suppress(e, cleanup);
+            }
+            throw e;
+        }
+        return scope;
+    }
+
+    /**
+     * Inflate {@code layoutId} and bind it to {@code target} without blocking the main thread on
+     * the inflation. The layout is inflated on a background thread while the binding class of
+     * {@code target} is loaded, then {@code callback} receives the view and its binding on the main
+     * thread. Looking up views and attaching listeners always happens on the main thread.
+     * <p>
+     * A layout which cannot be inflated off the main thread, for example because one of its views
+     * creates a {@link android.os.Handler}, is inflated on the main thread instead. Like
+     * {@code AsyncLayoutInflater}, the background inflation uses a clone of {@code inflater}
+     * which must not rely on a {@link LayoutInflater.Factory} that is unsafe to use from another
+     * thread.
+     *
+     * @param target Target class for view binding.
+     * @param inflater Inflater for the layout.
+     * @param layoutId Layout to inflate and bind.
+     * @param parent Optional view to generate the layout parameters of the inflated view.
+     * @param callback Receives the bound view on the main thread.
+     */
+    @UiThread
+    public static void bindAsync(@NonNull Object target, @NonNull LayoutInflater inflater,
+                                 @LayoutRes int layoutId, @Nullable ViewGroup parent,
+                                 @NonNull BindCallback callback) {
+        AsyncBinder.bind(target, inflater, layoutId, parent, callback);
+    }
+
     private static Unbinder createBinding(@NonNull Object target, @NonNull View source) {
+        if (!trace) {
+            return createUntracedBinding(target, source);
+        }
+        String name = "ButterKnife.bind " + target.getClass().getName();
+        if (name.length() > MAX_SECTION_NAME_LENGTH) {
+            name = name.substring(name.length() - MAX_SECTION_NAME_LENGTH);
+        }
+        TraceCompat.beginSection(name);
+        try {
+            return createUntracedBinding(target, source);
+        } finally {
+            TraceCompat.endSection();
+        }
+    }
+
+    private static Unbinder createUntracedBinding(@NonNull Object target, @NonNull View source) {
+        Hooks hooks = ButterKnife.hooks;
+        if (hooks != null) {
+            return createHookedBinding(target, source, hooks);
+        }
+
         Class<?> targetClass = target.getClass();
         if (debug) Log.d(TAG, "Looking up binding for " + targetClass.getName());
+        Unbinder unbinder = createGeneratedBinding(targetClass, target, source);
+        return unbinder != null ? unbinder : createTableBinding(target, source);
+    }
+
+    private static Unbinder createHookedBinding(@NonNull Object target, @NonNull View source,
+                                                @NonNull Hooks hooks) {
+        if (hooks.monitor != null) {
+            return createMonitoredBinding(target, source, hooks.monitor, hooks.profile);
+        }
+
+        Class<?> targetClass = target.getClass();
+        if (debug) Log.d(TAG, "Looking up binding for " + targetClass.getName());
+        StartupProfile profile = hooks.profile;
+        if (profile.isRecording() && !isResolved(targetClass)) {
+            return createProfiledBinding(target, source, profile);
+        }
+        Unbinder unbinder = createGeneratedBinding(targetClass, target, source);
+        return unbinder != null ? unbinder : createTableBinding(target, source);
+    }
+
+    /**
+     * 记录首次绑定的耗时，包括加载 _ViewBinding 类和查找构造函数的时间
+     */
+    private static Unbinder createProfiledBinding(@NonNull Object target, @NonNull View source,
+                                                  @NonNull StartupProfile profile) {
+        long start = System.nanoTime();
+        Unbinder unbinder = createGeneratedBinding(target.getClass(), target, source);
+        if (unbinder == null) {
+            return createTableBinding(target, source);
+        }
+        profile.record(unbinder.getClass(), System.nanoTime() - start);
+        return unbinder;
+    }
+
+    private static Unbinder createMonitoredBinding(@NonNull Object target, @NonNull View source,
+                                                   @NonNull BindingMonitor monitor,
+                                                   @Nullable StartupProfile profile) {
+        Class<?> targetClass = target.getClass();
+        if (debug) Log.d(TAG, "Looking up binding for " + targetClass.getName());
+        boolean hit = isResolved(targetClass);
+
+        long start = System.nanoTime();
+        resolveBinding(targetClass);
+        long resolved = System.nanoTime();
+        monitor.onLookup(targetClass, hit);
+        if (!hit) {
+            monitor.onConstructorResolved(targetClass, resolved - start);
+        }
+
+        Unbinder unbinder = createGeneratedBinding(targetClass, target, source);
+        boolean generated = unbinder != null;
+        if (!generated) {
+            unbinder = createTableBinding(target, source);
+        }
+        if (unbinder == Unbinder.EMPTY) {
+            return Unbinder.EMPTY;
+        }
+        long bound = System.nanoTime();
+        if (profile != null && !hit && generated) {
+            profile.record(unbinder.getClass(), bound - start);
+        }
+        monitor.onBind(targetClass, bound - resolved);
+        return new MonitoredUnbinder(unbinder, targetClass, monitor);
+    }
+
+    /**
+     * 创建 targetClass 生成的绑定类的实例：优先通过注册的索引中的工厂，否则通过反射调用
+     * _ViewBinding 的构造函数。没有生成的绑定类时返回 null
+     */
+    @Nullable
+    private static Unbinder createGeneratedBinding(Class<?> targetClass, @NonNull Object target,
+                                                   @NonNull View source) {
+        BindingIndex index = ButterKnife.index;
+        if (index != null) {
+            int factory = findFactoryForClass(index, targetClass);
+            if (factory >= 0) {
+                return index.newBinding(factory, target, source);
+            }
+        }
         /**
          * 根据 targetClass 找到其对应的 targetClass_ViewBinding 类(若未加载，则将其加载进内存中，并没有去初始化)
          */
         Constructor<? extends Unbinder> constructor = findBindingConstructorForClass(targetClass);
+        return constructor != null ? newBinding(constructor, target, source) : null;
+    }
 
-        if (constructor == null) {
-            return Unbinder.EMPTY;
+    /** Caches how {@code targetClass} is bound without binding it. */
+    private static void resolveBinding(Class<?> targetClass) {
+        BindingIndex index = ButterKnife.index;
+        if (index == null || findFactoryForClass(index, targetClass) < 0) {
+            findBindingConstructorForClass(targetClass);
         }
+    }
+
+    /** True if how {@code targetClass} is bound is already cached. */
+    private static boolean isResolved(Class<?> targetClass) {
+        Integer factory = INDEXED_BINDINGS.get(targetClass);
+        return factory != null && factory >= 0 || BINDINGS.containsKey(targetClass);
+    }
 
+    private static Unbinder newBinding(Constructor<? extends Unbinder> constructor,
+                                       @NonNull Object... args) {
         //noinspection TryWithIdenticalCatches Resolves to API 19+ only type.
         try {
             // 实例化该类
-            return constructor.newInstance(target, source);
+            return constructor.newInstance(args);
         } catch (IllegalAccessException e) {
             throw new RuntimeException("Unable to invoke " + constructor, e);
         } catch (InstantiationException e) {
@@ -233,6 +541,20 @@ public final class ButterKnife {
         }
     }
 
+    private static Unbinder createTableBinding(@NonNull Object target, @NonNull View source) {
+        if (TABLE_BINDINGS.isEmpty()) {
+            return Unbinder.EMPTY;
+        }
+        for (Class<?> cls = target.getClass(); cls != null; cls = cls.getSuperclass()) {
+            BindingTable.Target bindings = TABLE_BINDINGS.get(cls);
+            if (bindings != null) {
+                if (debug) Log.d(TAG, "HIT: Found in binding table as " + cls.getName());
+                return bindings.bind(target, source);
+            }
+        }
+        return Unbinder.EMPTY;
+    }
+
     @Nullable
     @CheckResult
     @UiThread
@@ -250,6 +572,17 @@ public final class ButterKnife {
             if (debug) Log.d(TAG, "MISS: Reached framework class. Abandoning search.");
             return null;
         }
+        BindingIndex index = ButterKnife.index;
+        if (index != null && !index.contains(clsName)) {
+            if (!debug || !hasBindingClass(cls)) {
+                if (debug) Log.d(TAG, "Not indexed. Trying superclass " + cls.getSuperclass().getName());
+                bindingCtor = findBindingConstructorForClass(cls.getSuperclass());
+                BINDINGS.put(cls, bindingCtor);
+                return bindingCtor;
+            }
+            Log.w(TAG, clsName + " has a binding class which the registered BindingIndex does not"
+                    + " list. Compile its module with the butterknife.indexModule option.");
+        }
         try {
             /**
              *  将自动生成的 cls_ViewBinding 类通过反射加载进来，并获取其构造函数
@@ -274,6 +607,83 @@ public final class ButterKnife {
         return bindingCtor;
     }
 
+    /**
+     * Returns the position of the factory in {@code index} which binds {@code cls}, found like its
+     * binding constructor by walking up to the nearest class with bindings, or -1 if there is none.
+     */
+    @UiThread
+    private static int findFactoryForClass(BindingIndex index, Class<?> cls) {
+        Integer cached = INDEXED_BINDINGS.get(cls);
+        if (cached != null) {
+            return cached;
+        }
+        int factory = -1;
+        for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
+            String name = c.getName();
+            if (name.startsWith("android.") || name.startsWith("java.")) {
+                break;
+            }
+            int position = index.indexOf(name);
+            if (position >= 0) {
+                if (index.hasFactory(position)) {
+                    factory = position;
+                }
+                break;
+            }
+            if (debug && hasBindingClass(c)) {
+                break;
+            }
+        }
+        INDEXED_BINDINGS.put(cls, factory);
+        return factory;
+    }
+
+    /**
+     * 检查索引没有列出的类是否其实有生成的绑定类，例如没有使用 butterknife.indexModule 编译的 module。
+     * 只在 debug 时调用，因为这正是索引要省去的 loadClass
+     */
+    private static boolean hasBindingClass(Class<?> cls) {
+        try {
+            cls.getClassLoader().loadClass(cls.getName() + "_ViewBinding");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 查找 cls 的绑定类中 (target, source, views) 构造函数及其 views 对应的 ID。
+     * 只有使用 butterknife.holderPaths 生成的绑定类才有该构造函数
+     */
+    @Nullable
+    @UiThread
+    private static SharedBinding findSharedBindingForClass(Class<?> cls) {
+        if (SHARED_BINDINGS.containsKey(cls)) {
+            return SHARED_BINDINGS.get(cls);
+        }
+        SharedBinding shared = null;
+        Constructor<? extends Unbinder> constructor = findBindingConstructorForClass(cls);
+        if (constructor != null) {
+            Class<? extends Unbinder> bindingClass = constructor.getDeclaringClass();
+            try {
+                Constructor<? extends Unbinder> viewsConstructor = bindingClass.getConstructor(
+                        constructor.getParameterTypes()[0], View.class, View[].class);
+                Field paths = bindingClass.getDeclaredField("PATHS");
+                paths.setAccessible(true);
+                shared = new SharedBinding(viewsConstructor,
+                        ((ViewPathCache) paths.get(null)).getIds());
+            } catch (NoSuchMethodException e) {
+                if (debug) Log.d(TAG, bindingClass.getName() + " looks up its own views.");
+            } catch (NoSuchFieldException e) {
+                throw new RuntimeException("Unable to find the view IDs of " + bindingClass, e);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Unable to find the view IDs of " + bindingClass, e);
+            }
+        }
+        SHARED_BINDINGS.put(cls, shared);
+        return shared;
+    }
+
     /**
      * Apply the specified {@code actions} across the {@code list} of views.
      */
@@ -412,4 +822,50 @@ public final class ButterKnife {
                                                  @NonNull Property<? super T, V> setter, V value) {
         setter.set(view, value);
     }
+
+    /** A binding constructor which takes the views found by {@link SharedViews}. */
+    private static final class SharedBinding {
+        final Constructor<? extends Unbinder> constructor;
+        final int[] ids;
+
+        SharedBinding(Constructor<? extends Unbinder> constructor, int[] ids) {
+            this.constructor = constructor;
+            this.ids = ids;
+        }
+    }
+
+    /** The optional hooks into binding, of which at least one is set. */
+    private static final class Hooks {
+        @Nullable final BindingMonitor monitor;
+        @Nullable final StartupProfile profile;
+
+        private Hooks(@Nullable BindingMonitor monitor, @Nullable StartupProfile profile) {
+            this.monitor = monitor;
+            this.profile = profile;
+        }
+
+        @Nullable
+        static Hooks of(@Nullable BindingMonitor monitor, @Nullable StartupProfile profile) {
+            return monitor == null && profile == null ? null : new Hooks(monitor, profile);
+        }
+    }
+
+    private static final class MonitoredUnbinder implements Unbinder {
+        private final Unbinder delegate;
+        private final Class<?> targetClass;
+        private final BindingMonitor monitor;
+
+        MonitoredUnbinder(Unbinder delegate, Class<?> targetClass, BindingMonitor monitor) {
+            this.delegate = delegate;
+            this.targetClass = targetClass;
+            this.monitor = monitor;
+        }
+
+        @Override
+        public void unbind() {
+            long start = System.nanoTime();
+            delegate.unbind();
+            monitor.onUnbind(targetClass, System.nanoTime() - start);
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package butterknife;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.UiThread;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Finds the views of several bindings for {@link ButterKnife#bindAll} in one walk of the hierarchy
+ * of their common source. Like {@link View#findViewById}, the walk is depth first and the first
+ * view with an ID wins, so every binding gets the views it would have found on its own.
+ */
+final class SharedViews {
+  /** The views found so far by ID, holding null for the IDs still looked for. */
+  private final SparseArray<View> views = new SparseArray<>();
+  private int remaining;
+
+  /** Adds {@code ids} to the views looked for by the next {@link #find}. */
+  void addIds(@NonNull int[] ids) {
+    for (int id : ids) {
+      if (views.indexOfKey(id) < 0) {
+        views.put(id, null);
+        remaining++;
+      }
+    }
+  }
+
+  /** Finds the views with every added ID under {@code source}, stopping once all are found. */
+  @UiThread
+  void find(@NonNull View source) {
+    if (remaining > 0) {
+      collect(source);
+    }
+  }
+
+  private void collect(View view) {
+    int index = views.indexOfKey(view.getId());
+    if (index >= 0 && views.valueAt(index) == null) {
+      views.setValueAt(index, view);
+      remaining--;
+    }
+    if (view instanceof ViewGroup) {
+      ViewGroup group = (ViewGroup) view;
+      for (int i = 0, count = group.getChildCount(); i < count && remaining > 0; i++) {
+        collect(group.getChildAt(i));
+      }
+    }
+  }
+
+  /** Returns the views with each of {@code ids} in their order, or null where there is none. */
+  @NonNull View[] get(@NonNull int[] ids) {
+    View[] result = new View[ids.length];
+    for (int i = 0; i < ids.length; i++) {
+      result[i] = views.get(ids[i]);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,155 @@
+package butterknife;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records the generated binding classes which are loaded during startup together with the time
+ * their first bind took. Install with {@link ButterKnife#setStartupProfile(StartupProfile)} as
+ * early as possible, for example in {@code Application.onCreate}, and export the recorded classes
+ * with {@link #writeBaselineProfile} so that ART compiles them ahead of time.
+ * <p>
+ * Recording stops once the window given at construction has passed or the capacity is used up.
+ * Appending an entry takes no lock, so binds on several threads do not contend.
+ */
+public final class StartupProfile {
+  private final long deadlineNanos;
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicReferenceArray<Entry> entries;
+
+  /**
+   * @param windowMillis How long after this call first binds are recorded.
+   * @param capacity The maximum number of first binds recorded.
+   */
+  public StartupProfile(long windowMillis, int capacity) {
+    if (windowMillis < 0) {
+      throw new IllegalArgumentException("windowMillis < 0: " + windowMillis);
+    }
+    if (capacity < 0) {
+      throw new IllegalArgumentException("capacity < 0: " + capacity);
+    }
+    deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    entries = new AtomicReferenceArray<>(capacity);
+  }
+
+  boolean isRecording() {
+    return System.nanoTime() - deadlineNanos < 0 && size.get() < entries.length();
+  }
+
+  void record(@NonNull Class<? extends Unbinder> bindingClass, long durationNanos) {
+    if (System.nanoTime() - deadlineNanos >= 0) {
+      return;
+    }
+    int index = size.getAndIncrement();
+    if (index < entries.length()) {
+      entries.set(index, new Entry(bindingClass, durationNanos));
+    }
+  }
+
+  /** The first binds recorded so far, in the order they happened. */
+  @NonNull public List<Entry> getEntries() {
+    int count = Math.min(size.get(), entries.length());
+    List<Entry> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Entry entry = entries.get(i);
+      if (entry != null) { // Its append is still in progress.
+        result.add(entry);
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  /**
+   * Writes the recorded binding classes, the parent binding classes they extend, and their binding
+   * constructors in the human readable baseline profile format, one rule per line. Each class is
+   * written once even if several targets used it.
+   */
+  public void writeBaselineProfile(@NonNull Writer writer) throws IOException {
+    Set<Class<?>> written = new LinkedHashSet<>();
+    for (Entry entry : getEntries()) {
+      // The constructor of a subclass binding calls the one of its parent first.
+      for (Class<?> bindingClass = entry.bindingClass;
+          isBindingClass(bindingClass) && written.add(bindingClass);
+          bindingClass = bindingClass.getSuperclass()) {
+        writeClass(writer, bindingClass);
+      }
+    }
+    writer.flush();
+  }
+
+  private static boolean isBindingClass(Class<?> type) {
+    return type != null
+        && Unbinder.class.isAssignableFrom(type)
+        && type.getName().endsWith("_ViewBinding");
+  }
+
+  private static void writeClass(Writer writer, Class<?> bindingClass) throws IOException {
+    String owner = descriptor(bindingClass);
+    writer.write(owner);
+    writer.write('\n');
+    for (Constructor<?> constructor : bindingClass.getDeclaredConstructors()) {
+      Class<?>[] parameters = constructor.getParameterTypes();
+      // Both reflection and a BindingIndex call the (target, source) constructor.
+      if (parameters.length != 2 || parameters[1] != View.class) {
+        continue;
+      }
+      writer.write("HSP");
+      writer.write(owner);
+      writer.write("-><init>(");
+      for (Class<?> parameter : parameters) {
+        writer.write(descriptor(parameter));
+      }
+      writer.write(")V\n");
+    }
+  }
+
+  private static String descriptor(Class<?> type) {
+    if (type.isArray()) {
+      return type.getName().replace('.', '/');
+    }
+    if (type.isPrimitive()) {
+      if (type == int.class) return "I";
+      if (type == long.class) return "J";
+      if (type == boolean.class) return "Z";
+      if (type == byte.class) return "B";
+      if (type == char.class) return "C";
+      if (type == short.class) return "S";
+      if (type == float.class) return "F";
+      if (type == double.class) return "D";
+      return "V";
+    }
+    return "L" + type.getName().replace('.', '/') + ";";
+  }
+
+  /** The first bind through one binding class. */
+  public static final class Entry {
+    final Class<? extends Unbinder> bindingClass;
+    private final long durationNanos;
+
+    Entry(Class<? extends Unbinder> bindingClass, long durationNanos) {
+      this.bindingClass = bindingClass;
+      this.durationNanos = durationNanos;
+    }
+
+    /** The generated binding class. */
+    @NonNull public Class<? extends Unbinder> getBindingClass() {
+      return bindingClass;
+    }
+
+    /** How long the first bind took, including loading the binding class. */
+    public long getDurationNanos() {
+      return durationNanos;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package butterknife;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Build;
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.annotation.UiThread;
+import android.view.View;
+import java.util.Arrays;
+
+/**
+ * Collects the {@link Unbinder}s of one scope, such as a screen and the view holders, fragments,
+ * and dialogs it binds, so they can be released together.
+ * <pre><code>
+ * scope.add(ButterKnife.bind(this));
+ * scope.add(ButterKnife.bind(holder, itemView));
+ * // ...
+ * scope.unbind();
+ * </code></pre>
+ * {@link #unbind()} unbinds everything added since the last call in reverse order and leaves the
+ * scope empty and ready for reuse. {@link #unbindOnDestroy} and {@link #unbindOnDetach} do so
+ * automatically. While a {@link BindingMonitor} is set it is told the size of the scope after
+ * every change, so a scope which only ever grows shows up as a leak.
+ */
+@UiThread
+public final class UnbinderScope implements Unbinder {
+  private static final Unbinder[] NONE = new Unbinder[0];
+
+  private Unbinder[] unbinders = NONE;
+  private int size;
+
+  /** Adds {@code unbinder} to be unbound with this scope and returns it. */
+  @NonNull public <T extends Unbinder> T add(@NonNull T unbinder) {
+    if (unbinder == null) throw new NullPointerException("unbinder == null");
+    if (unbinder == this) throw new IllegalArgumentException("A scope cannot contain itself.");
+    if (unbinder == Unbinder.EMPTY) {
+      return unbinder;
+    }
+    if (size == unbinders.length) {
+      unbinders = Arrays.copyOf(unbinders, Math.max(8, size * 2));
+    }
+    unbinders[size++] = unbinder;
+    BindingMonitor monitor = ButterKnife.getBindingMonitor();
+    if (monitor != null) {
+      monitor.onScopeChanged(this, size);
+    }
+    return unbinder;
+  }
+
+  /** The number of unbinders added since this scope was last unbound. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Unbinds every unbinder in this scope, the last added first, and empties it. Unbinding an empty
+   * scope does nothing. If an unbinder throws, the rest are still unbound and the first failure is
+   * rethrown afterwards.
+   */
+  @Override public void unbind() {
+    Unbinder[] unbinders = this.unbinders;
+    int count = size;
+    if (count == 0) {
+      return;
+    }
+    size = 0;
+    BindingMonitor monitor = ButterKnife.getBindingMonitor();
+    long start = monitor != null ? System.nanoTime() : 0;
+    try {
+      RuntimeException failure = null;
+      for (int i = count - 1; i >= 0; i--) {
+        try {
+          unbinders[i].unbind();
+        } catch (RuntimeException e) {
+          if (failure == null) {
+            failure = e;
+          } else {
+            suppress(failure, e);
+          }
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    } finally {
+      Arrays.fill(unbinders, 0, count, null);
+      if (monitor != null) {
+        monitor.onScopeUnbind(this, count, System.nanoTime() - start);
+        monitor.onScopeChanged(this, 0);
+      }
+    }
+  }
+
+  /** Attaches {@code suppressed} to {@code failure} where the platform supports it. */
+  static void suppress(Throwable failure, Throwable suppressed) {
+    if (Build.VERSION.SDK_INT >= 19) {
+      failure.addSuppressed(suppressed);
+    }
+  }
+
+  /** Unbinds this scope when {@code activity} is destroyed. */
+  @NonNull public UnbinderScope unbindOnDestroy(@NonNull final Activity activity) {
+    final Application application = activity.getApplication();
+    application.registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+      @Override public void onActivityDestroyed(Activity destroyed) {
+        if (destroyed == activity) {
+          application.unregisterActivityLifecycleCallbacks(this);
+          unbind();
+        }
+      }
+
+      @Override public void onActivityCreated(Activity created, Bundle savedInstanceState) {
+      }
+
+      @Override public void onActivityStarted(Activity started) {
+      }
+
+      @Override public void onActivityResumed(Activity resumed) {
+      }
+
+      @Override public void onActivityPaused(Activity paused) {
+      }
+
+      @Override public void onActivityStopped(Activity stopped) {
+      }
+
+      @Override public void onActivitySaveInstanceState(Activity saved, Bundle outState) {
+      }
+    });
+    return this;
+  }
+
+  /** Unbinds this scope the next time {@code view} is detached from its window. */
+  @NonNull public UnbinderScope unbindOnDetach(@NonNull View view) {
+    view.addOnAttachStateChangeListener(new View.OnAttachStateChangeListener() {
+      @Override public void onViewAttachedToWindow(View v) {
+      }
+
+      @Override public void onViewDetachedFromWindow(View v) {
+        v.removeOnAttachStateChangeListener(this);
+        unbind();
+      }
+    });
+    return this;
+  }
+}
@@ -0,0 +1,246 @@
+package butterknife;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.RequiresApi;
+import android.support.annotation.UiThread;
+import android.util.Property;
+import android.view.View;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable batch of {@linkplain ButterKnife.Action actions},
+ * {@linkplain ButterKnife.Setter setters}, and {@linkplain Property properties} which are applied
+ * to a group of views in a single pass.
+ * <p>
+ * Setter and property values are remembered across calls to {@link #apply()}. Re-recording the
+ * value which was last applied is a no-op so that views are not needlessly invalidated. Properties
+ * are additionally compared against the current value of each view.
+ * <pre><code>
+ * ViewBatch&lt;View&gt; batch = ViewBatch.of(nameViews);
+ *
+ * void render(boolean editable) {
+ *   batch.set(ENABLED, editable)
+ *       .set(View.ALPHA, editable ? 1f : 0.5f)
+ *       .apply();
+ * }
+ * </code></pre>
+ */
+public final class ViewBatch<T extends View> {
+  /** Create a batch which applies to the {@code list} of views. */
+  @NonNull
+  public static <T extends View> ViewBatch<T> of(@NonNull List<T> list) {
+    return new ViewBatch<>(list);
+  }
+
+  /** Create a batch which applies to the {@code array} of views. */
+  @NonNull
+  public static <T extends View> ViewBatch<T> of(@NonNull T[] array) {
+    return new ViewBatch<>(Arrays.asList(array));
+  }
+
+  private final List<T> views;
+  private final List<Operation<T>> operations = new ArrayList<>();
+  private final List<Operation<T>> pending = new ArrayList<>();
+
+  private ViewBatch(List<T> views) {
+    this.views = views;
+  }
+
+  /** Record an {@code action} to run on each view during the next {@link #apply()} only. */
+  @NonNull
+  @UiThread
+  public ViewBatch<T> action(@NonNull ButterKnife.Action<? super T> action) {
+    operations.add(new ActionOperation<>(action));
+    return this;
+  }
+
+  /**
+   * Record a {@code value} to set on each view using {@code setter}. Replaces any value previously
+   * recorded for the same setter.
+   */
+  @NonNull
+  @UiThread
+  public <V> ViewBatch<T> set(@NonNull ButterKnife.Setter<? super T, V> setter, V value) {
+    SetterOperation<T, V> operation = find(setter);
+    if (operation == null) {
+      operation = new SetterOperation<>(setter);
+      operations.add(operation);
+    }
+    operation.value = value;
+    return this;
+  }
+
+  /**
+   * Record a {@code value} to set on each view using {@code property}. Replaces any value previously
+   * recorded for the same property.
+   */
+  @NonNull
+  @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH) // http://b.android.com/213630
+  @RequiresApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+  @UiThread
+  public <V> ViewBatch<T> set(@NonNull Property<? super T, V> property, V value) {
+    PropertyOperation<T, V> operation = find(property);
+    if (operation == null) {
+      operation = new PropertyOperation<>(property);
+      operations.add(operation);
+    }
+    operation.value = value;
+    return this;
+  }
+
+  /**
+   * Apply every recorded action and every changed setter or property value across the views in
+   * a single pass.
+   */
+  @UiThread
+  public void apply() {
+    List<Operation<T>> pending = this.pending;
+    for (int i = 0, count = operations.size(); i < count; i++) {
+      Operation<T> operation = operations.get(i);
+      if (operation.isDirty()) {
+        pending.add(operation);
+      }
+    }
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    int pendingCount = pending.size();
+    for (int i = 0, count = views.size(); i < count; i++) {
+      T view = views.get(i);
+      for (int j = 0; j < pendingCount; j++) {
+        pending.get(j).apply(view, i);
+      }
+    }
+
+    for (int i = 0; i < pendingCount; i++) {
+      Operation<T> operation = pending.get(i);
+      operation.applied();
+      if (operation instanceof ActionOperation) {
+        operations.remove(operation);
+      }
+    }
+    pending.clear();
+  }
+
+  /**
+   * Forget the last applied values so that the next {@link #apply()} sets all of them again. Use
+   * this when the views may have been changed outside of this batch.
+   */
+  @UiThread
+  public void reset() {
+    for (int i = 0, count = operations.size(); i < count; i++) {
+      operations.get(i).reset();
+    }
+  }
+
+  @SuppressWarnings("unchecked") // Operations are keyed by the setter with which they were created.
+  private <V> SetterOperation<T, V> find(ButterKnife.Setter<? super T, V> setter) {
+    for (int i = 0, count = operations.size(); i < count; i++) {
+      Operation<T> operation = operations.get(i);
+      if (operation instanceof SetterOperation && ((SetterOperation) operation).setter == setter) {
+        return (SetterOperation<T, V>) operation;
+      }
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked") // Operations are keyed by the property with which they were created.
+  private <V> PropertyOperation<T, V> find(Property<? super T, V> property) {
+    for (int i = 0, count = operations.size(); i < count; i++) {
+      Operation<T> operation = operations.get(i);
+      if (operation instanceof PropertyOperation
+          && ((PropertyOperation) operation).property == property) {
+        return (PropertyOperation<T, V>) operation;
+      }
+    }
+    return null;
+  }
+
+  static boolean equal(Object a, Object b) {
+    return a == b || (a != null && a.equals(b));
+  }
+
+  private abstract static class Operation<T> {
+    abstract boolean isDirty();
+
+    abstract void apply(T view, int index);
+
+    abstract void applied();
+
+    abstract void reset();
+  }
+
+  private static final class ActionOperation<T extends View> extends Operation<T> {
+    private final ButterKnife.Action<? super T> action;
+
+    ActionOperation(ButterKnife.Action<? super T> action) {
+      this.action = action;
+    }
+
+    @Override boolean isDirty() {
+      return true;
+    }
+
+    @Override void apply(T view, int index) {
+      action.apply(view, index);
+    }
+
+    @Override void applied() {
+    }
+
+    @Override void reset() {
+    }
+  }
+
+  private abstract static class ValueOperation<T, V> extends Operation<T> {
+    V value;
+    private V appliedValue;
+    private boolean hasApplied;
+
+    @Override boolean isDirty() {
+      return !hasApplied || !equal(value, appliedValue);
+    }
+
+    @Override void applied() {
+      appliedValue = value;
+      hasApplied = true;
+    }
+
+    @Override void reset() {
+      appliedValue = null;
+      hasApplied = false;
+    }
+  }
+
+  private static final class SetterOperation<T extends View, V> extends ValueOperation<T, V> {
+    final ButterKnife.Setter<? super T, V> setter;
+
+    SetterOperation(ButterKnife.Setter<? super T, V> setter) {
+      this.setter = setter;
+    }
+
+    @Override void apply(T view, int index) {
+      setter.set(view, value, index);
+    }
+  }
+
+  @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH) // http://b.android.com/213630
+  private static final class PropertyOperation<T extends View, V> extends ValueOperation<T, V> {
+    final Property<? super T, V> property;
+
+    PropertyOperation(Property<? super T, V> property) {
+      this.property = property;
+    }
+
+    @Override void apply(T view, int index) {
+      if (!equal(property.get(view), value)) {
+        property.set(view, value);
+      }
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package butterknife.internal;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.annotation.UiThread;
+import android.text.Editable;
+import android.text.TextWatcher;
+
+/**
+ * A {@link TextWatcher} which coalesces bursts of changes and forwards only the latest values of
+ * each callback to a delegate on the main thread.
+ * <p>
+ * The watcher is its own {@link Runnable} and is posted at most once per delivery, so no objects
+ * are allocated per change. Extending a debounce reschedules lazily from {@link #run()} instead of
+ * reposting on every change.
+ */
+public final class CoalescingTextWatcher implements TextWatcher, Runnable {
+  private static final long NEVER = -1;
+  private static final Handler MAIN = new Handler(Looper.getMainLooper());
+
+  /**
+   * Deliver to {@code delegate} once no further changes have occurred for {@code debounceMillis}.
+   */
+  public static CoalescingTextWatcher debounce(TextWatcher delegate, long debounceMillis) {
+    return new CoalescingTextWatcher(delegate, debounceMillis, 0);
+  }
+
+  /** Deliver to {@code delegate} at most once per {@code throttleMillis}. */
+  public static CoalescingTextWatcher throttle(TextWatcher delegate, long throttleMillis) {
+    return new CoalescingTextWatcher(delegate, 0, throttleMillis);
+  }
+
+  private final TextWatcher delegate;
+  private final long debounceMillis;
+  private final long throttleMillis;
+
+  private boolean scheduled;
+  private long deadlineMillis;
+  private long lastDeliveryMillis = NEVER;
+
+  private boolean beforePending;
+  private CharSequence beforeText;
+  private int beforeStart;
+  private int beforeCount;
+  private int beforeAfter;
+
+  private boolean changedPending;
+  private CharSequence changedText;
+  private int changedStart;
+  private int changedBefore;
+  private int changedCount;
+
+  private boolean afterPending;
+  private Editable afterText;
+
+  private CoalescingTextWatcher(TextWatcher delegate, long debounceMillis, long throttleMillis) {
+    if (debounceMillis < 0) {
+      throw new IllegalArgumentException("debounceMillis < 0: " + debounceMillis);
+    }
+    if (throttleMillis < 0) {
+      throw new IllegalArgumentException("throttleMillis < 0: " + throttleMillis);
+    }
+    this.delegate = delegate;
+    this.debounceMillis = debounceMillis;
+    this.throttleMillis = throttleMillis;
+  }
+
+  @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+    beforePending = true;
+    // Copy the text since the change is applied to it before the delivery.
+    beforeText = s.toString();
+    beforeStart = start;
+    beforeCount = count;
+    beforeAfter = after;
+    schedule();
+  }
+
+  @Override public void onTextChanged(CharSequence s, int start, int before, int count) {
+    changedPending = true;
+    changedText = s;
+    changedStart = start;
+    changedBefore = before;
+    changedCount = count;
+    schedule();
+  }
+
+  @Override public void afterTextChanged(Editable s) {
+    afterPending = true;
+    afterText = s;
+    schedule();
+  }
+
+  /** Drop any pending delivery. */
+  @UiThread
+  public void cancel() {
+    MAIN.removeCallbacks(this);
+    scheduled = false;
+    beforePending = false;
+    beforeText = null;
+    changedPending = false;
+    changedText = null;
+    afterPending = false;
+    afterText = null;
+  }
+
+  private void schedule() {
+    long now = SystemClock.uptimeMillis();
+    if (debounceMillis > 0) {
+      deadlineMillis = now + debounceMillis;
+    } else if (!scheduled) {
+      deadlineMillis = lastDeliveryMillis == NEVER
+          ? now
+          : Math.max(now, lastDeliveryMillis + throttleMillis);
+    }
+    if (!scheduled) {
+      scheduled = true;
+      MAIN.postAtTime(this, deadlineMillis);
+    }
+  }
+
+  @Override public void run() {
+    long now = SystemClock.uptimeMillis();
+    if (now < deadlineMillis) {
+      // The debounce was extended since this was posted.
+      MAIN.postAtTime(this, deadlineMillis);
+      return;
+    }
+    scheduled = false;
+    lastDeliveryMillis = now;
+
+    // Clear each value before delivering it as the delegate may change the text again.
+    if (beforePending) {
+      CharSequence text = beforeText;
+      beforePending = false;
+      beforeText = null;
+      delegate.beforeTextChanged(text, beforeStart, beforeCount, beforeAfter);
+    }
+    if (changedPending) {
+      CharSequence text = changedText;
+      changedPending = false;
+      changedText = null;
+      delegate.onTextChanged(text, changedStart, changedBefore, changedCount);
+    }
+    if (afterPending) {
+      Editable text = afterText;
+      afterPending = false;
+      afterText = null;
+      delegate.afterTextChanged(text);
+    }
+  }
+}
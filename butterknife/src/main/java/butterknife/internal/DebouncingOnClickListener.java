@@ -1,13 +1,22 @@
 package butterknife.internal;
 
+import android.os.SystemClock;
+import android.support.annotation.UiThread;
 import android.view.View;
 
 /**
- * A {@linkplain View.OnClickListener click listener} that debounces multiple clicks posted in the
- * same frame. A click on one button disables all buttons for that frame.
+ * A {@linkplain View.OnClickListener click listener} that debounces multiple clicks.
+ * <p>
+ * By default clicks are debounced globally for the same frame: a click on one button disables all
+ * buttons for that frame. When a {@linkplain #setWindow window} is set, each listener instead
+ * ignores its own clicks which arrive within the window of the last one it accepted. Clicks on
+ * other views are unaffected and no message is posted per click.
  */
 public abstract class DebouncingOnClickListener implements View.OnClickListener {
+  private static final long NEVER = -1;
+
   static boolean enabled = true;
+  static long windowMillis = 0;
 
   private static final Runnable ENABLE_AGAIN = new Runnable() {
     @Override public void run() {
@@ -15,8 +24,29 @@ public abstract class DebouncingOnClickListener implements View.OnClickListener
     }
   };
 
+  /**
+   * Debounce clicks per listener using a window of {@code windowMillis}. A value of zero restores
+   * the default behavior of debouncing all clicks globally until the next frame.
+   */
+  @UiThread
+  public static void setWindow(long windowMillis) {
+    if (windowMillis < 0) {
+      throw new IllegalArgumentException("windowMillis < 0: " + windowMillis);
+    }
+    DebouncingOnClickListener.windowMillis = windowMillis;
+  }
+
+  private long lastClickMillis = NEVER;
+
   @Override public final void onClick(View v) {
-    if (enabled) {
+    long window = windowMillis;
+    if (window > 0) {
+      long now = SystemClock.uptimeMillis();
+      if (lastClickMillis == NEVER || now - lastClickMillis >= window) {
+        lastClickMillis = now;
+        doClick(v);
+      }
+    } else if (enabled) {
       enabled = false;
       v.post(ENABLE_AGAIN);
       doClick(v);
@@ -0,0 +1,118 @@
+package butterknife.internal;
+
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.UiThread;
+import android.util.LruCache;
+import java.lang.ref.WeakReference;
+
+/**
+ * A bounded LRU cache of the {@linkplain Drawable.ConstantState constant state} of tinted
+ * drawables. Entries are keyed by drawable ID, tint attribute ID, and the theme which resolved the
+ * tint so that a theme change (e.g., an activity recreation) never serves a stale tint. Themes
+ * are only weakly referenced so a cached state never keeps its activity alive.
+ * <p>
+ * Drawables created from a cached state share that state just like those returned from
+ * {@link Resources#getDrawable(int)}. Call {@link Drawable#mutate()} before modifying one.
+ */
+public final class TintedDrawableCache {
+  static final int DEFAULT_MAX_SIZE = 32;
+
+  private static final Key LOOKUP = new Key();
+  private static LruCache<Key, Drawable.ConstantState> cache = new LruCache<>(DEFAULT_MAX_SIZE);
+
+  /**
+   * Set the maximum number of tinted drawable states to retain. A size of zero disables caching.
+   */
+  @UiThread
+  public static void setMaxSize(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize < 0: " + maxSize);
+    }
+    cache = maxSize == 0 ? null : new LruCache<Key, Drawable.ConstantState>(maxSize);
+  }
+
+  /**
+   * Evict all cached states. Call this after mutating a theme in place (such as with
+   * {@link Resources.Theme#applyStyle}) since its identity will not change.
+   */
+  @UiThread
+  public static void clear() {
+    if (cache != null) {
+      cache.evictAll();
+    }
+  }
+
+  @UiThread // Implicit synchronization for use of shared resource LOOKUP.
+  static Drawable.ConstantState get(Resources.Theme theme, int id, int tintAttrId, int color) {
+    if (cache == null) {
+      return null;
+    }
+    Drawable.ConstantState state = cache.get(LOOKUP.set(theme, id, tintAttrId, color));
+    LOOKUP.theme = null; // Do not retain the theme past the lookup.
+    return state;
+  }
+
+  @UiThread
+  static void put(Resources.Theme theme, int id, int tintAttrId, int color,
+      Drawable.ConstantState state) {
+    if (cache != null && state != null) {
+      cache.put(new Key().set(theme, id, tintAttrId, color).weaken(), state);
+    }
+  }
+
+  private static final class Key {
+    /** The theme of a lookup key. Cached keys hold it in {@link #themeRef} instead. */
+    Resources.Theme theme;
+    WeakReference<Resources.Theme> themeRef;
+    int themeHash;
+    int id;
+    int tintAttrId;
+    int color;
+
+    Key set(Resources.Theme theme, int id, int tintAttrId, int color) {
+      this.theme = theme;
+      this.themeHash = System.identityHashCode(theme);
+      this.id = id;
+      this.tintAttrId = tintAttrId;
+      this.color = color;
+      return this;
+    }
+
+    /** Moves the theme into a weak reference so that the cache does not retain it. */
+    Key weaken() {
+      themeRef = new WeakReference<>(theme);
+      theme = null;
+      return this;
+    }
+
+    @Override public boolean equals(Object o) {
+      if (!(o instanceof Key)) return false;
+      Key other = (Key) o;
+      if (themeHash != other.themeHash) return false;
+      Resources.Theme theme = theme();
+      // A key whose theme was collected matches nothing and ages out of the cache.
+      return theme != null
+          && theme == other.theme()
+          && id == other.id
+          && tintAttrId == other.tintAttrId
+          && color == other.color;
+    }
+
+    Resources.Theme theme() {
+      return themeRef != null ? themeRef.get() : theme;
+    }
+
+    @Override public int hashCode() {
+      int result = themeHash;
+      result = 31 * result + id;
+      result = 31 * result + tintAttrId;
+      result = 31 * result + color;
+      return result;
+    }
+  }
+
+  private TintedDrawableCache() {
+    throw new AssertionError("No instances.");
+  }
+}
@@ -14,6 +14,7 @@ import android.util.TypedValue;
 import android.view.View;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.List;
 
 @SuppressWarnings("WeakerAccess") // Used by generated code.
@@ -32,10 +33,17 @@ public final class Utils {
                     + " was not found.");
         }
 
+        int color = ContextCompat.getColor(context, VALUE.resourceId);
+        Resources.Theme theme = context.getTheme();
+        Drawable.ConstantState state = TintedDrawableCache.get(theme, id, tintAttrId, color);
+        if (state != null) {
+            return state.newDrawable(context.getResources());
+        }
+
         Drawable drawable = ContextCompat.getDrawable(context, id);
         drawable = DrawableCompat.wrap(drawable.mutate());
-        int color = ContextCompat.getColor(context, VALUE.resourceId);
         DrawableCompat.setTint(drawable, color);
+        TintedDrawableCache.put(theme, id, tintAttrId, color, drawable.getConstantState());
         return drawable;
     }
 
@@ -50,32 +58,48 @@ public final class Utils {
                 + " type #0x" + Integer.toHexString(value.type) + " is not valid");
     }
 
+    /**
+     * @deprecated Bindings now create their arrays directly. Only present for code generated by
+     * older versions.
+     */
+    @Deprecated
     @SafeVarargs
     public static <T> T[] arrayOf(T... views) {
-        return filterNull(views);
+        int count = compact(views);
+        if (count == views.length) {
+            return views;
+        }
+        //noinspection unchecked
+        T[] newViews = (T[]) Array.newInstance(views.getClass().getComponentType(), count);
+        return copyInto(views, newViews);
     }
 
     @SafeVarargs
     public static <T> List<T> listOf(T... views) {
-        return new ImmutableList<>(filterNull(views));
+        return new ImmutableList<>(views, compact(views));
     }
 
-    private static <T> T[] filterNull(T[] views) {
+    /**
+     * Moves the non-null elements of {@code views} to its front, preserving their order, and
+     * returns how many there are.
+     */
+    public static <T> int compact(T[] views) {
         int end = 0;
-        int length = views.length;
-        for (int i = 0; i < length; i++) {
+        for (int i = 0, length = views.length; i < length; i++) {
             T view = views[i];
             if (view != null) {
                 views[end++] = view;
             }
         }
-        if (end == length) {
-            return views;
-        }
-        //noinspection unchecked
-        T[] newViews = (T[]) Array.newInstance(views.getClass().getComponentType(), end);
-        System.arraycopy(views, 0, newViews, 0, end);
-        return newViews;
+        return end;
+    }
+
+    /**
+     * Copies the first {@code result.length} elements of {@code views} into {@code result}.
+     */
+    public static <T> T[] copyInto(T[] views, T[] result) {
+        System.arraycopy(views, 0, result, 0, result.length);
+        return result;
     }
 
     public static <T> T findOptionalViewAsType(View source, @IdRes int id, String who,
@@ -100,6 +124,35 @@ public final class Utils {
                 + " (methods) annotation.");
     }
 
+    /**
+     * Creates the exception thrown by non-debuggable bindings when any of the required views with
+     * {@code ids} is missing. Only the IDs which cannot be found in {@code source} are reported.
+     */
+    public static IllegalStateException missingRequiredViews(View source, @IdRes int... ids) {
+        StringBuilder builder = new StringBuilder("Required views ");
+        int missing = 0;
+        for (int id : ids) {
+            if (source.findViewById(id) != null) {
+                continue;
+            }
+            if (missing > 0) {
+                builder.append(", ");
+            }
+            builder.append('\'')
+                    .append(getResourceEntryName(source, id))
+                    .append("' with ID ")
+                    .append(id);
+            missing++;
+        }
+        if (missing == 0) {
+            // Views were removed again before this was called. Report all of them.
+            builder.append("with IDs ").append(Arrays.toString(ids));
+        }
+        builder.append(" were not found. If a view is optional add '@Nullable' (fields) or"
+                + " '@Optional' (methods) annotation.");
+        return new IllegalStateException(builder.toString());
+    }
+
     public static <T> T findRequiredViewAsType(View source, @IdRes int id, String who,
                                                Class<T> cls) {
         View view = findRequiredView(source, id, who);
@@ -0,0 +1,108 @@
+package butterknife.internal;
+
+import android.support.annotation.IdRes;
+import android.support.annotation.UiThread;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Finds the views of a holder-like binding by their child index paths from the source view.
+ * Every holder of the same layout has the same structure, so the paths recorded by the first
+ * {@link #find} are followed directly by the next ones instead of searching the hierarchy for
+ * each ID.
+ * <p>
+ * A view found by path must have the expected ID. If one does not, or a view which was missing
+ * before cannot be ruled out, the views are looked up by ID again and their paths are recorded
+ * anew. A target bound to layouts of different structure therefore still gets the right views.
+ */
+public final class ViewPathCache {
+  /** Marks a view which was not found when the paths were recorded. */
+  private static final int[] MISSING = new int[0];
+
+  private final int[] ids;
+  private volatile int[][] paths;
+
+  public ViewPathCache(@IdRes int... ids) {
+    this.ids = ids;
+  }
+
+  /** Returns the IDs of the views this cache finds, in the order {@link #find} returns them. */
+  public int[] getIds() {
+    return ids.clone();
+  }
+
+  /**
+   * Returns the views with each of the IDs in the order they were given, or null where there is no
+   * such view.
+   */
+  @UiThread
+  public View[] find(View source) {
+    View[] views = new View[ids.length];
+    int[][] paths = this.paths;
+    if (paths != null && follow(source, paths, views)) {
+      return views;
+    }
+    this.paths = record(source, views);
+    return views;
+  }
+
+  private boolean follow(View source, int[][] paths, View[] views) {
+    for (int i = 0; i < ids.length; i++) {
+      int[] path = paths[i];
+      View view;
+      if (path == MISSING) {
+        // Absent views have no path, so confirm they are still absent.
+        view = source.findViewById(ids[i]);
+        if (view != null) {
+          return false;
+        }
+      } else {
+        view = childAt(source, path);
+        if (view == null || view.getId() != ids[i]) {
+          return false;
+        }
+      }
+      views[i] = view;
+    }
+    return true;
+  }
+
+  private int[][] record(View source, View[] views) {
+    int[][] paths = new int[ids.length][];
+    for (int i = 0; i < ids.length; i++) {
+      View view = source.findViewById(ids[i]);
+      views[i] = view;
+      paths[i] = view != null ? pathTo(source, view) : MISSING;
+    }
+    return paths;
+  }
+
+  private static View childAt(View source, int[] path) {
+    View view = source;
+    for (int index : path) {
+      if (!(view instanceof ViewGroup)) {
+        return null;
+      }
+      ViewGroup group = (ViewGroup) view;
+      if (index >= group.getChildCount()) {
+        return null;
+      }
+      view = group.getChildAt(index);
+    }
+    return view;
+  }
+
+  private static int[] pathTo(View source, View view) {
+    int depth = 0;
+    for (View child = view; child != source; child = (View) child.getParent()) {
+      depth++;
+    }
+    int[] path = new int[depth];
+    for (View child = view; child != source; ) {
+      ViewGroup parent = (ViewGroup) child.getParent();
+      path[--depth] = parent.indexOfChild(child);
+      child = parent;
+    }
+    return path;
+  }
+}
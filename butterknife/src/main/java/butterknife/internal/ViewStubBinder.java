@@ -0,0 +1,80 @@
+package butterknife.internal;
+
+import android.support.annotation.IdRes;
+import android.support.annotation.UiThread;
+import android.view.View;
+import android.view.ViewStub;
+import butterknife.R;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defers the binding of views which live in the layout of a {@link ViewStub} until it inflates.
+ * If the stub is no longer in the hierarchy it has already been inflated and the views are bound
+ * right away.
+ * <p>
+ * Every binder waiting for the same stub, such as those of a class and its superclass, shares one
+ * {@link ViewStub.OnInflateListener} kept in a tag of the stub. Setting another listener on the
+ * stub replaces it.
+ */
+public abstract class ViewStubBinder {
+  private ViewStub pendingStub;
+
+  @UiThread
+  public final void attach(View source, @IdRes int stubId) {
+    View view = source.findViewById(stubId);
+    if (view instanceof ViewStub) {
+      ViewStub stub = (ViewStub) view;
+      Dispatcher dispatcher = (Dispatcher) stub.getTag(R.id.butterknife_view_stub_binders);
+      if (dispatcher == null) {
+        dispatcher = new Dispatcher();
+        stub.setTag(R.id.butterknife_view_stub_binders, dispatcher);
+        stub.setOnInflateListener(dispatcher);
+      }
+      dispatcher.binders.add(this);
+      pendingStub = stub;
+    } else {
+      doBind(source);
+    }
+  }
+
+  /** Stops waiting for the stub to inflate. Views which were already bound are unaffected. */
+  @UiThread
+  public final void cancel() {
+    ViewStub stub = pendingStub;
+    if (stub == null) {
+      return;
+    }
+    pendingStub = null;
+    Dispatcher dispatcher = (Dispatcher) stub.getTag(R.id.butterknife_view_stub_binders);
+    if (dispatcher != null) {
+      dispatcher.binders.remove(this);
+      if (dispatcher.binders.isEmpty()) {
+        dispatcher.detach(stub);
+      }
+    }
+  }
+
+  /** Binds the views of the stub's layout, looking them up in {@code source}. */
+  public abstract void doBind(View source);
+
+  /** Forwards the inflation of one stub to the binders waiting for it, in attach order. */
+  private static final class Dispatcher implements ViewStub.OnInflateListener {
+    final List<ViewStubBinder> binders = new ArrayList<>(2);
+
+    @Override public void onInflate(ViewStub stub, View inflated) {
+      detach(stub);
+      List<ViewStubBinder> binders = new ArrayList<>(this.binders);
+      this.binders.clear();
+      for (ViewStubBinder binder : binders) {
+        binder.pendingStub = null;
+        binder.doBind(inflated);
+      }
+    }
+
+    void detach(ViewStub stub) {
+      stub.setOnInflateListener(null);
+      stub.setTag(R.id.butterknife_view_stub_binders, null);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package butterknife;
+
+import butterknife.AggregatingBindingMonitor.Histogram;
+import butterknife.AggregatingBindingMonitor.Stats;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class AggregatingBindingMonitorTest {
+  private final AggregatingBindingMonitor monitor = new AggregatingBindingMonitor();
+
+  @Test public void countsLookupsPerClass() {
+    monitor.onLookup(String.class, false);
+    monitor.onLookup(String.class, true);
+    monitor.onLookup(String.class, true);
+    monitor.onLookup(Integer.class, false);
+
+    Stats stats = monitor.getStats(String.class);
+    assertThat(stats.getLookupHits()).isEqualTo(2);
+    assertThat(stats.getLookupMisses()).isEqualTo(1);
+    assertThat(monitor.getStats(Integer.class).getLookupMisses()).isEqualTo(1);
+    assertThat(monitor.getStats(Long.class)).isNull();
+  }
+
+  @Test public void recordsLatencies() {
+    for (int i = 1; i <= 100; i++) {
+      monitor.onBind(String.class, i * 1000L);
+    }
+    monitor.onUnbind(String.class, 5);
+
+    Histogram bindTimes = monitor.getStats(String.class).getBindTimes();
+    assertThat(bindTimes.getCount()).isEqualTo(100);
+    assertThat(bindTimes.getMax()).isEqualTo(100000);
+    assertThat(bindTimes.getMean()).isWithin(0.001).of(50500);
+    assertThat((double) bindTimes.getPercentile(50)).isWithin(50000 / 8d).of(50000);
+    assertThat((double) bindTimes.getPercentile(99)).isWithin(99000 / 8d).of(99000);
+    assertThat(monitor.getStats(String.class).getUnbindTimes().getPercentile(100)).isEqualTo(5);
+    assertThat(monitor.getStats(String.class).getResolveTimes().getCount()).isEqualTo(0);
+  }
+
+  @Test public void statsAreSnapshots() {
+    monitor.onBind(String.class, 10);
+    Stats stats = monitor.getStats(String.class);
+    monitor.onBind(String.class, 10);
+    assertThat(stats.getBindTimes().getCount()).isEqualTo(1);
+  }
+
+  @Test public void bucketsCoverTheirLowestValue() {
+    long[] values = { 0, 1, 15, 16, 17, 31, 32, 1000, 123456789, Long.MAX_VALUE };
+    for (long value : values) {
+      long lowest = Histogram.lowestValueOf(Histogram.indexOf(value));
+      assertThat(lowest).isAtMost(value);
+      assertThat((double) value - lowest).isAtMost(value / 8d);
+    }
+  }
+
+  @Test public void dumpListsSlowestClassFirst() {
+    monitor.onLookup(String.class, false);
+    monitor.onBind(String.class, 1000);
+    monitor.onLookup(Integer.class, true);
+    monitor.onBind(Integer.class, 2097152);
+
+    String dump = monitor.dump();
+    assertThat(dump).startsWith("java.lang.Integer: 1 cached lookups, 0 uncached\n"
+        + "  bind    n=1 mean=2.097ms p50=2.097ms p90=2.097ms p99=2.097ms max=2.097ms\n");
+    assertThat(dump).contains("java.lang.String: 0 cached lookups, 1 uncached\n");
+
+    monitor.reset();
+    assertThat(monitor.dump()).isEmpty();
+  }
+}
@@ -7,6 +7,8 @@ import org.junit.Test;
 
 import static com.google.common.truth.Truth.assertAbout;
 import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+import static java.util.Arrays.asList;
 
 public final class BindBitmapTest {
   @Test public void typeMustBeBitmap() {
@@ -24,4 +26,59 @@ public final class BindBitmapTest {
         .withErrorContaining("@BindBitmap field type must be 'Bitmap'. (test.Test.one)")
         .in(source).onLine(4);
   }
+
+  @Test public void warnsInViewHolder() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.TestViewHolder", ""
+        + "package test;\n"
+        + "import android.graphics.Bitmap;\n"
+        + "import butterknife.BindBitmap;\n"
+        + "public class TestViewHolder {\n"
+        + "  @BindBitmap(1) Bitmap one;\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutError()
+        .withWarningContaining("@BindBitmap in a view holder decodes the bitmap again for every "
+            + "holder. Load it once and share it, for example from the adapter. "
+            + "(test.TestViewHolder.one)")
+        .in(source).onLine(5);
+  }
+
+  @Test public void warnsInRecyclerViewHolderSubtype() {
+    JavaFileObject recyclerView =
+        JavaFileObjects.forSourceString("androidx.recyclerview.widget.RecyclerView", ""
+            + "package androidx.recyclerview.widget;\n"
+            + "import android.view.View;\n"
+            + "public class RecyclerView {\n"
+            + "  public abstract static class ViewHolder {\n"
+            + "    public ViewHolder(View itemView) {}\n"
+            + "  }\n"
+            + "}"
+        );
+    JavaFileObject source = JavaFileObjects.forSourceString("test.ItemHolder", ""
+        + "package test;\n"
+        + "import android.graphics.Bitmap;\n"
+        + "import android.view.View;\n"
+        + "import androidx.recyclerview.widget.RecyclerView;\n"
+        + "import butterknife.BindBitmap;\n"
+        + "public class ItemHolder extends RecyclerView.ViewHolder {\n"
+        + "  @BindBitmap(1) Bitmap one;\n"
+        + "  public ItemHolder(View itemView) {\n"
+        + "    super(itemView);\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSources()).that(asList(recyclerView, source))
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutError()
+        .withWarningContaining("@BindBitmap in a view holder decodes the bitmap again for every "
+            + "holder. Load it once and share it, for example from the adapter. "
+            + "(test.ItemHolder.one)")
+        .in(source).onLine(7);
+  }
 }
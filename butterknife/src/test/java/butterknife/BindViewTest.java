@@ -74,6 +74,7 @@ public class BindViewTest {
         + "import android.support.annotation.UiThread;\n"
         + "import android.view.View;\n"
         + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.Utils;\n"
         + "import java.lang.IllegalStateException;\n"
         + "import java.lang.Override;\n"
         + "public class Test_ViewBinding implements Unbinder {\n"
@@ -82,6 +83,9 @@ public class BindViewTest {
         + "  public Test_ViewBinding(Test target, View source) {\n"
         + "    this.target = target;\n"
         + "    target.thing = source.findViewById(1);\n"
+        + "    if (target.thing == null) {\n"
+        + "      throw Utils.missingRequiredViews(source, 1);\n"
+        + "    }\n"
         + "  }\n"
         + "  @Override\n"
         + "  @CallSuper\n"
@@ -119,6 +123,7 @@ public class BindViewTest {
         + "import android.view.View;\n"
         + "import android.widget.TextView;\n"
         + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.Utils;\n"
         + "import java.lang.IllegalStateException;\n"
         + "import java.lang.Override;\n"
         + "public class Test_ViewBinding implements Unbinder {\n"
@@ -127,6 +132,9 @@ public class BindViewTest {
         + "  public Test_ViewBinding(Test target, View source) {\n"
         + "    this.target = target;\n"
         + "    target.thing = (TextView) source.findViewById(1);\n"
+        + "    if (target.thing == null) {\n"
+        + "      throw Utils.missingRequiredViews(source, 1);\n"
+        + "    }\n"
         + "  }\n"
         + "  @Override\n"
         + "  @CallSuper\n"
@@ -147,6 +155,96 @@ public class BindViewTest {
         .generatesSources(bindingSource);
   }
 
+  @Test public void bindingViewsAndListenersNonDebuggable() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.BindViews;\n"
+        + "import butterknife.OnClick;\n"
+        + "import butterknife.Optional;\n"
+        + "import java.util.List;\n"
+        + "public class Test {\n"
+        + "  @interface Nullable {}\n"
+        + "  @BindView(1) TextView title;\n"
+        + "  @Nullable @BindView(2) View subtitle;\n"
+        + "  @BindViews({3, 4}) List<View> rows;\n"
+        + "  @OnClick(1) void onTitle() {}\n"
+        + "  @Optional @OnClick(5) void onMore() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  private View view1;\n"
+        + "  private View view5;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    view1 = source.findViewById(1);\n"
+        + "    target.title = (TextView) view1;\n"
+        + "    target.subtitle = source.findViewById(2);\n"
+        + "    view5 = source.findViewById(5);\n"
+        + "    target.rows = Utils.listOf(\n"
+        + "        source.findViewById(3), \n"
+        + "        source.findViewById(4));\n"
+        + "    if (view1 == null || target.rows.size() != 2) {\n"
+        + "      throw Utils.missingRequiredViews(source, 1, 3, 4);\n"
+        + "    }\n"
+        + "    view1.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "      @Override\n"
+        + "      public void doClick(View p0) {\n"
+        + "        target.onTitle();\n"
+        + "      }\n"
+        + "    });\n"
+        + "    if (view5 != null) {\n"
+        + "      view5.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "        @Override\n"
+        + "        public void doClick(View p0) {\n"
+        + "          target.onMore();\n"
+        + "        }\n"
+        + "      });\n"
+        + "    }\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    Test target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.title = null;\n"
+        + "    target.subtitle = null;\n"
+        + "    target.rows = null;\n"
+        + "    view1.setOnClickListener(null);\n"
+        + "    view1 = null;\n"
+        + "    if (view5 != null) {\n"
+        + "      view5.setOnClickListener(null);\n"
+        + "      view5 = null;\n"
+        + "    }\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.debuggable=false")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
   @Test public void bindingGeneratedView() {
     JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
         + "package test;\n"
@@ -731,7 +829,6 @@ public class BindViewTest {
         + "package test;\n"
         + "import android.support.annotation.UiThread;\n"
         + "import android.view.View;\n"
-        + "import butterknife.internal.Utils;\n"
         + "import java.lang.IllegalStateException;\n"
         + "import java.lang.Override;\n"
         + "public class TestOne_ViewBinding extends Test_ViewBinding {\n"
@@ -740,7 +837,7 @@ public class BindViewTest {
         + "  public TestOne_ViewBinding(TestOne target, View source) {\n"
         + "    super(target, source);\n"
         + "    this.target = target;\n"
-        + "    target.thing = Utils.findRequiredView(source, 1, \"field 'thing'\");\n"
+        + "    target.thing = target.view;\n"
         + "  }\n"
         + "  @Override\n"
         + "  public void unbind() {\n"
@@ -817,7 +914,6 @@ public class BindViewTest {
         + "package test;\n"
         + "import android.support.annotation.UiThread;\n"
         + "import android.view.View;\n"
-        + "import butterknife.internal.Utils;\n"
         + "import java.lang.IllegalStateException;\n"
         + "import java.lang.Override;\n"
         + "public class TestOne_ViewBinding extends Test_ViewBinding {\n"
@@ -826,7 +922,7 @@ public class BindViewTest {
         + "  public TestOne_ViewBinding(TestOne target, View source) {\n"
         + "    super(target, source);\n"
         + "    this.target = target;\n"
-        + "    target.thing = Utils.findRequiredView(source, 1, \"field 'thing'\");\n"
+        + "    target.thing = target.view;\n"
         + "  }\n"
         + "  @Override\n"
         + "  public void unbind() {\n"
@@ -849,6 +945,435 @@ public class BindViewTest {
         .generatesSources(binding1Source, binding2Source);
   }
 
+  @Test public void superclassViewReusedForListener() {
+    JavaFileObject source1 = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) TextView toolbar;\n"
+        + "}"
+    );
+
+    JavaFileObject source2 = JavaFileObjects.forSourceString("test.TestOne", ""
+        + "package test;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class TestOne extends Test {\n"
+        + "  @OnClick(1) void doStuff() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/TestOne_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class TestOne_ViewBinding extends Test_ViewBinding {\n"
+        + "  private TestOne target;\n"
+        + "  private View view1;\n"
+        + "  @UiThread\n"
+        + "  public TestOne_ViewBinding(final TestOne target, View source) {\n"
+        + "    super(target, source);\n"
+        + "    this.target = target;\n"
+        + "    View view;\n"
+        + "    view = target.toolbar;\n"
+        + "    view1 = view;\n"
+        + "    view.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "      @Override\n"
+        + "      public void doClick(View p0) {\n"
+        + "        target.doStuff();\n"
+        + "      }\n"
+        + "    });\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public void unbind() {\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    target = null;\n"
+        + "    view1.setOnClickListener(null);\n"
+        + "    view1 = null;\n"
+        + "    super.unbind();\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSources()).that(asList(source1, source2))
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void superclassViewHiddenByFieldIsLookedUp() {
+    JavaFileObject source1 = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) View toolbar;\n"
+        + "}"
+    );
+
+    JavaFileObject source2 = JavaFileObjects.forSourceString("test.TestOne", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class TestOne extends Test {\n"
+        + "  View toolbar;\n"
+        + "  @BindView(1) View thing;\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/TestOne_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class TestOne_ViewBinding extends Test_ViewBinding {\n"
+        + "  private TestOne target;\n"
+        + "  @UiThread\n"
+        + "  public TestOne_ViewBinding(TestOne target, View source) {\n"
+        + "    super(target, source);\n"
+        + "    this.target = target;\n"
+        + "    target.thing = Utils.findRequiredView(source, 1, \"field 'thing'\");\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  public void unbind() {\n"
+        + "    TestOne target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.thing = null;\n"
+        + "    super.unbind();\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSources()).that(asList(source1, source2))
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void bindingViewInStub() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) View title;\n"
+        + "  @BindView(value = 2, stub = 5) TextView message;\n"
+        + "  @OnClick(2) void retry() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import butterknife.internal.ViewStubBinder;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  private View view2;\n"
+        + "  private ViewStubBinder viewStub5;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    target.title = Utils.findRequiredView(source, 1, \"field 'title'\");\n"
+        + "    viewStub5 = new ViewStubBinder() {\n"
+        + "      @Override\n"
+        + "      public void doBind(View source) {\n"
+        + "        View view;\n"
+        + "        view = Utils.findRequiredView(source, 2, \"field 'message' and method 'retry'\");\n"
+        + "        target.message = Utils.castView(view, 2, \"field 'message'\", TextView.class);\n"
+        + "        view2 = view;\n"
+        + "        view.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "          @Override\n"
+        + "          public void doClick(View p0) {\n"
+        + "            target.retry();\n"
+        + "          }\n"
+        + "        });\n"
+        + "      }\n"
+        + "    };\n"
+        + "    viewStub5.attach(source, 5);\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    Test target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.title = null;\n"
+        + "    target.message = null;\n"
+        + "    if (view2 != null) {\n"
+        + "      view2.setOnClickListener(null);\n"
+        + "      view2 = null;\n"
+        + "    }\n"
+        + "    viewStub5.cancel();\n"
+        + "    viewStub5 = null;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void bindingViewInStubNonDebuggable() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) View title;\n"
+        + "  @BindView(value = 2, stub = 5) TextView message;\n"
+        + "  @OnClick(2) void retry() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import butterknife.internal.ViewStubBinder;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  private View view2;\n"
+        + "  private ViewStubBinder viewStub5;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    target.title = source.findViewById(1);\n"
+        + "    if (target.title == null) {\n"
+        + "      throw Utils.missingRequiredViews(source, 1);\n"
+        + "    }\n"
+        + "    viewStub5 = new ViewStubBinder() {\n"
+        + "      @Override\n"
+        + "      public void doBind(View source) {\n"
+        + "        view2 = source.findViewById(2);\n"
+        + "        target.message = (TextView) view2;\n"
+        + "        if (view2 == null) {\n"
+        + "          throw Utils.missingRequiredViews(source, 2);\n"
+        + "        }\n"
+        + "        view2.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "          @Override\n"
+        + "          public void doClick(View p0) {\n"
+        + "            target.retry();\n"
+        + "          }\n"
+        + "        });\n"
+        + "      }\n"
+        + "    };\n"
+        + "    viewStub5.attach(source, 5);\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    Test target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.title = null;\n"
+        + "    target.message = null;\n"
+        + "    if (view2 != null) {\n"
+        + "      view2.setOnClickListener(null);\n"
+        + "      view2 = null;\n"
+        + "    }\n"
+        + "    viewStub5.cancel();\n"
+        + "    viewStub5 = null;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.debuggable=false")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void failsIfStubIdIsViewId() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test {\n"
+        + "  @BindView(value = 1, stub = 1) View thing;\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .processedWith(new ButterKnifeProcessor())
+        .failsToCompile()
+        .withErrorContaining("@BindView view ID 1 must differ from its stub ID. (test.Test.thing)")
+        .in(source).onLine(5);
+  }
+
+  @Test public void bindingViewHolderPaths() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) TextView title;\n"
+        + "  @BindView(2) View icon;\n"
+        + "  @OnClick(2) void select() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import butterknife.internal.ViewPathCache;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private static final ViewPathCache PATHS = new ViewPathCache(1, 2);\n"
+        + "  private Test target;\n"
+        + "  private View view2;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(Test target, View source) {\n"
+        + "    this(target, source, PATHS.find(source));\n"
+        + "  }\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source, View[] views) {\n"
+        + "    this.target = target;\n"
+        + "    target.title = (TextView) views[0];\n"
+        + "    view2 = views[1];\n"
+        + "    target.icon = view2;\n"
+        + "    if (target.title == null || view2 == null) {\n"
+        + "      throw Utils.missingRequiredViews(source, 1, 2);\n"
+        + "    }\n"
+        + "    view2.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "      @Override\n"
+        + "      public void doClick(View p0) {\n"
+        + "        target.select();\n"
+        + "      }\n"
+        + "    });\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    Test target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.title = null;\n"
+        + "    target.icon = null;\n"
+        + "    view2.setOnClickListener(null);\n"
+        + "    view2 = null;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.holderPaths=true",
+            "-Abutterknife.debuggable=false")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void bindingViewHolderPathsDebuggable() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) TextView title;\n"
+        + "  @BindView(2) View icon;\n"
+        + "  @OnClick(2) void select() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  private View view2;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    View view;\n"
+        + "    target.title = Utils.findRequiredViewAsType(source, 1, \"field 'title'\", "
+        + "TextView.class);\n"
+        + "    view = Utils.findRequiredView(source, 2, \"field 'icon' and method 'select'\");\n"
+        + "    target.icon = view;\n"
+        + "    view2 = view;\n"
+        + "    view.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "      @Override\n"
+        + "      public void doClick(View p0) {\n"
+        + "        target.select();\n"
+        + "      }\n"
+        + "    });\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    Test target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.title = null;\n"
+        + "    target.icon = null;\n"
+        + "    view2.setOnClickListener(null);\n"
+        + "    view2 = null;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.holderPaths=true")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
   @Test public void failsInJavaPackage() {
     JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
         + "package java.test;\n"
@@ -1018,4 +1543,22 @@ public class BindViewTest {
         .onLine(7);
   }
 
+  @Test public void warnsAboveViewFieldThreshold() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) View one;\n"
+        + "  @BindView(2) View two;\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.maxViewFields=1")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutError()
+        .withWarningContaining("test.Test binds 2 fields with @BindView, more than 1.")
+        .in(source).onLine(4);
+  }
 }
@@ -56,10 +56,10 @@ public class BindViewsTest {
         + "  @UiThread\n"
         + "  public Test_ViewBinding(Test target, View source) {\n"
         + "    this.target = target;\n"
-        + "    target.thing = Utils.arrayOf(\n"
+        + "    target.thing = new View[] {\n"
         + "        Utils.findRequiredView(source, 1, \"field 'thing'\"), \n"
         + "        Utils.findRequiredView(source, 2, \"field 'thing'\"), \n"
-        + "        Utils.findRequiredView(source, 3, \"field 'thing'\"));\n"
+        + "        Utils.findRequiredView(source, 3, \"field 'thing'\")};\n"
         + "  }\n"
         + "  @Override\n"
         + "  @CallSuper\n"
@@ -104,10 +104,10 @@ public class BindViewsTest {
         + "  @UiThread\n"
         + "  public Test_ViewBinding(Test target, View source) {\n"
         + "    this.target = target;\n"
-        + "    target.thing = Utils.arrayOf(\n"
+        + "    target.thing = new View[] {\n"
         + "        Utils.findRequiredView(source, 1, \"field 'thing'\"), \n"
         + "        Utils.findRequiredView(source, 2, \"field 'thing'\"), \n"
-        + "        Utils.findRequiredView(source, 3, \"field 'thing'\"));\n"
+        + "        Utils.findRequiredView(source, 3, \"field 'thing'\")};\n"
         + "  }\n"
         + "  @Override\n"
         + "  @CallSuper\n"
@@ -155,10 +155,10 @@ public class BindViewsTest {
         + "  @UiThread\n"
         + "  public Test_ViewBinding(Test target, View source) {\n"
         + "    this.target = target;\n"
-        + "    target.thing = Utils.arrayOf(\n"
+        + "    target.thing = new TextView[] {\n"
         + "        Utils.findRequiredViewAsType(source, 1, \"field 'thing'\", TextView.class), \n"
         + "        Utils.findRequiredViewAsType(source, 2, \"field 'thing'\", TextView.class), \n"
-        + "        Utils.findRequiredViewAsType(source, 3, \"field 'thing'\", TextView.class));\n"
+        + "        Utils.findRequiredViewAsType(source, 3, \"field 'thing'\", TextView.class)};\n"
         + "  }\n"
         + "  @Override\n"
         + "  @CallSuper\n"
@@ -203,10 +203,13 @@ public class BindViewsTest {
         + "  @UiThread\n"
         + "  public Test_ViewBinding(Test target, View source) {\n"
         + "    this.target = target;\n"
-        + "    target.thing = Utils.arrayOf(\n"
+        + "    target.thing = new View[] {\n"
         + "        source.findViewById(1), \n"
         + "        source.findViewById(2), \n"
-        + "        source.findViewById(3));\n"
+        + "        source.findViewById(3)};\n"
+        + "    if (target.thing[0] == null || target.thing[1] == null || target.thing[2] == null) {\n"
+        + "      throw Utils.missingRequiredViews(source, 1, 2, 3);\n"
+        + "    }\n"
         + "  }\n"
         + "  @Override\n"
         + "  @CallSuper\n"
@@ -252,10 +255,13 @@ public class BindViewsTest {
         + "  @UiThread\n"
         + "  public Test_ViewBinding(Test target, View source) {\n"
         + "    this.target = target;\n"
-        + "    target.thing = Utils.arrayOf(\n"
+        + "    target.thing = new TextView[] {\n"
         + "        (TextView) source.findViewById(1), \n"
         + "        (TextView) source.findViewById(2), \n"
-        + "        (TextView) source.findViewById(3));\n"
+        + "        (TextView) source.findViewById(3)};\n"
+        + "    if (target.thing[0] == null || target.thing[1] == null || target.thing[2] == null) {\n"
+        + "      throw Utils.missingRequiredViews(source, 1, 2, 3);\n"
+        + "    }\n"
         + "  }\n"
         + "  @Override\n"
         + "  @CallSuper\n"
@@ -276,6 +282,59 @@ public class BindViewsTest {
         .generatesSources(bindingSource);
   }
 
+  @Test public void nullableArrayIsCompacted() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindViews;\n"
+        + "public class Test {\n"
+        + "    @interface Nullable {}\n"
+        + "    @Nullable @BindViews({1, 2, 3}) View[] thing;\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(Test target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    target.thing = new View[] {\n"
+        + "        source.findViewById(1), \n"
+        + "        source.findViewById(2), \n"
+        + "        source.findViewById(3)};\n"
+        + "    int thingCount = Utils.compact(target.thing);\n"
+        + "    if (thingCount != target.thing.length) {\n"
+        + "      target.thing = Utils.copyInto(target.thing, new View[thingCount]);\n"
+        + "    }\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    Test target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.thing = null;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
   @Test public void bindingList() {
     JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
         + "package test;\n"
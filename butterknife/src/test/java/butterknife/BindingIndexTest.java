@@ -0,0 +1,103 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+import static java.util.Arrays.asList;
+
+public class BindingIndexTest {
+  @Test public void moduleIndexListsTargets() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) View thing;\n"
+        + "  static class Inner {\n"
+        + "    @BindView(2) View other;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    JavaFileObject indexSource =
+        JavaFileObjects.forSourceString("butterknife/index/BindingIndex_feature_login", ""
+            + "package butterknife.index;\n"
+            + "import butterknife.internal.BindingTargets;\n"
+            + "import java.lang.AssertionError;\n"
+            + "@BindingTargets({\"test.Test\", \"test.Test$Inner\"})\n"
+            + "final class BindingIndex_feature_login {\n"
+            + "  private BindingIndex_feature_login() {\n"
+            + "    throw new AssertionError(\"No instances.\");\n"
+            + "  }\n"
+            + "}"
+        );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.indexModule=feature-login")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(indexSource);
+  }
+
+  @Test public void applicationIndexMergesModuleIndices() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) View thing;\n"
+        + "}"
+    );
+    JavaFileObject library =
+        JavaFileObjects.forSourceString("butterknife.index.BindingIndex_library", ""
+            + "package butterknife.index;\n"
+            + "import butterknife.internal.BindingTargets;\n"
+            + "@BindingTargets({\"library.Other\", \"test.Test\"})\n"
+            + "final class BindingIndex_library {\n"
+            + "}"
+        );
+
+    JavaFileObject indexSource =
+        JavaFileObjects.forSourceString("butterknife/index/ButterKnifeBindingIndex", ""
+            + "package butterknife.index;\n"
+            + "import android.view.View;\n"
+            + "import butterknife.BindingIndex;\n"
+            + "import butterknife.Unbinder;\n"
+            + "import java.lang.IllegalArgumentException;\n"
+            + "import java.lang.Object;\n"
+            + "import java.lang.Override;\n"
+            + "import java.lang.String;\n"
+            + "import test.Test;\n"
+            + "import test.Test_ViewBinding;\n"
+            + "public final class ButterKnifeBindingIndex extends BindingIndex {\n"
+            + "  public ButterKnifeBindingIndex() {\n"
+            + "    super(new int[] {-1226327922, 1400432637},\n"
+            + "        new String[] {\"test.Test\", \"library.Other\"},\n"
+            + "        new boolean[] {true, false});\n"
+            + "  }\n"
+            + "  @Override\n"
+            + "  protected Unbinder newBinding(int index, Object target, View source) {\n"
+            + "    switch (index) {\n"
+            + "      case 0:\n"
+            + "        return new Test_ViewBinding((Test) target, source);\n"
+            + "      default:\n"
+            + "        throw new IllegalArgumentException(\"No binding factory at \" + index);\n"
+            + "    }\n"
+            + "  }\n"
+            + "}"
+        );
+
+    assertAbout(javaSources()).that(asList(source, library))
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.aggregateIndex=true")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(indexSource);
+  }
+}
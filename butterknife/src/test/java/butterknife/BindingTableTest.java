@@ -0,0 +1,140 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+import static java.util.Arrays.asList;
+
+public class BindingTableTest {
+  @Test public void eligibleTargetsShareTable() {
+    JavaFileObject source1 = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.support.annotation.Nullable;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) TextView title;\n"
+        + "  @Nullable @BindView(2) View optional;\n"
+        + "  @OnClick(1) void onTitle(View view) {}\n"
+        + "  @OnClick(3) void onOther() {}\n"
+        + "}"
+    );
+    JavaFileObject source2 = JavaFileObjects.forSourceString("test.Test2", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Test2 {\n"
+        + "  @BindView(4) View thing;\n"
+        + "}"
+    );
+    JavaFileObject source3 = JavaFileObjects.forSourceString("test.Test3", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.OnLongClick;\n"
+        + "public class Test3 {\n"
+        + "  @BindView(5) View thing;\n"
+        + "  @OnLongClick(5) boolean onLong() { return true; }\n"
+        + "}"
+    );
+
+    JavaFileObject tableSource = JavaFileObjects.forSourceString("test/ButterKnifeBindingTable", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.BindingTable;\n"
+        + "import java.lang.Class;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "import java.lang.String;\n"
+        + "public final class ButterKnifeBindingTable extends BindingTable {\n"
+        + "  public ButterKnifeBindingTable() {\n"
+        + "    super(new Class<?>[] {Test.class, Test2.class},\n"
+        + "        new int[] {0, 3, 4},\n"
+        + "        new int[] {1, 2, 3, 4},\n"
+        + "        new Class<?>[] {TextView.class, View.class, null, View.class},\n"
+        + "        new int[] {REQUIRED | CLICK, 0, REQUIRED | CLICK, REQUIRED},\n"
+        + "        new String[] {\"field 'title' and method 'onTitle'\", \"field 'optional'\", "
+        + "\"method 'onOther'\", \"field 'thing'\"});\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  protected void setField(int binding, Object target, View view) {\n"
+        + "    switch (binding) {\n"
+        + "      case 0:\n"
+        + "        ((Test) target).title = (TextView) view;\n"
+        + "        break;\n"
+        + "      case 1:\n"
+        + "        ((Test) target).optional = view;\n"
+        + "        break;\n"
+        + "      case 3:\n"
+        + "        ((Test2) target).thing = view;\n"
+        + "        break;\n"
+        + "    }\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  protected void click(int binding, Object target, View view) {\n"
+        + "    switch (binding) {\n"
+        + "      case 0:\n"
+        + "        ((Test) target).onTitle(view);\n"
+        + "        break;\n"
+        + "      case 2:\n"
+        + "        ((Test) target).onOther();\n"
+        + "        break;\n"
+        + "    }\n"
+        + "  }\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test3_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test3_ViewBinding implements Unbinder {\n"
+        + "  private Test3 target;\n"
+        + "  private View view5;\n"
+        + "  @UiThread\n"
+        + "  public Test3_ViewBinding(final Test3 target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 5, \"field 'thing' and method 'onLong'\");\n"
+        + "    target.thing = view;\n"
+        + "    view5 = view;\n"
+        + "    view.setOnLongClickListener(new View.OnLongClickListener() {\n"
+        + "      @Override\n"
+        + "      public boolean onLongClick(View p0) {\n"
+        + "        return target.onLong();\n"
+        + "      }\n"
+        + "    });\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    Test3 target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.thing = null;\n"
+        + "    view5.setOnLongClickListener(null);\n"
+        + "    view5 = null;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSources()).that(asList(source1, source2, source3))
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.bindingTable=true")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(tableSource, bindingSource);
+  }
+}
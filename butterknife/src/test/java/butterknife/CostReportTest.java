@@ -0,0 +1,223 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteSource;
+import com.google.testing.compile.JavaFileObjects;
+import java.nio.charset.StandardCharsets;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+
+public class CostReportTest {
+  @Test public void reportsCostPerTarget() {
+    JavaFileObject parent = JavaFileObjects.forSourceString("test.Base", ""
+        + "package test;\n"
+        + "import android.support.annotation.Nullable;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.Button;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Base {\n"
+        + "  @BindView(1) Button button;\n"
+        + "  @Nullable @BindView(2) View optional;\n"
+        + "  @OnClick(1) void onClick() {}\n"
+        + "}"
+    );
+    JavaFileObject child = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.BindString;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.BindViews;\n"
+        + "import java.util.List;\n"
+        + "public class Test extends Base {\n"
+        + "  @BindViews({3, 4}) List<TextView> texts;\n"
+        + "  @BindString(1) String one;\n"
+        + "  @BindString(2) String two;\n"
+        + "}"
+    );
+
+    String report = ""
+        + "{\n"
+        + "  \"bindings\": [\n"
+        + "    {\n"
+        + "      \"target\": \"test.Base\",\n"
+        + "      \"cost\": {\n"
+        + "        \"viewLookups\": 2,\n"
+        + "        \"pathLookups\": 0,\n"
+        + "        \"requiredChecks\": 1,\n"
+        + "        \"castViews\": 1,\n"
+        + "        \"listenerClasses\": 1,\n"
+        + "        \"sharedListeners\": 0,\n"
+        + "        \"resourceLoads\": {}\n"
+        + "      }\n"
+        + "    },\n"
+        + "    {\n"
+        + "      \"target\": \"test.Test\",\n"
+        + "      \"cost\": {\n"
+        + "        \"viewLookups\": 2,\n"
+        + "        \"pathLookups\": 0,\n"
+        + "        \"requiredChecks\": 2,\n"
+        + "        \"castViews\": 2,\n"
+        + "        \"listenerClasses\": 0,\n"
+        + "        \"sharedListeners\": 0,\n"
+        + "        \"resourceLoads\": {\n"
+        + "          \"string\": 2\n"
+        + "        }\n"
+        + "      },\n"
+        + "      \"parent\": \"test.Base\",\n"
+        + "      \"inherited\": {\n"
+        + "        \"viewLookups\": 2,\n"
+        + "        \"pathLookups\": 0,\n"
+        + "        \"requiredChecks\": 1,\n"
+        + "        \"castViews\": 1,\n"
+        + "        \"listenerClasses\": 1,\n"
+        + "        \"sharedListeners\": 0,\n"
+        + "        \"resourceLoads\": {}\n"
+        + "      }\n"
+        + "    }\n"
+        + "  ]\n"
+        + "}\n";
+
+    assertAbout(javaSources()).that(ImmutableList.of(parent, child))
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.costReport=true")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesFileNamed(StandardLocation.SOURCE_OUTPUT, "butterknife", "binding-cost.json")
+        .withContents(ByteSource.wrap(report.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test public void leavesOutTableBoundTargets() {
+    JavaFileObject table = JavaFileObjects.forSourceString("test.Table", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindView;\n"
+        + "public class Table {\n"
+        + "  @BindView(1) View thing;\n"
+        + "}"
+    );
+    JavaFileObject generated = JavaFileObjects.forSourceString("test.Generated", ""
+        + "package test;\n"
+        + "import butterknife.BindString;\n"
+        + "public class Generated {\n"
+        + "  @BindString(1) String one;\n"
+        + "}"
+    );
+
+    String report = ""
+        + "{\n"
+        + "  \"bindings\": [\n"
+        + "    {\n"
+        + "      \"target\": \"test.Generated\",\n"
+        + "      \"cost\": {\n"
+        + "        \"viewLookups\": 0,\n"
+        + "        \"pathLookups\": 0,\n"
+        + "        \"requiredChecks\": 0,\n"
+        + "        \"castViews\": 0,\n"
+        + "        \"listenerClasses\": 0,\n"
+        + "        \"sharedListeners\": 0,\n"
+        + "        \"resourceLoads\": {\n"
+        + "          \"string\": 1\n"
+        + "        }\n"
+        + "      }\n"
+        + "    }\n"
+        + "  ]\n"
+        + "}\n";
+
+    assertAbout(javaSources()).that(ImmutableList.of(table, generated))
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.costReport=true",
+            "-Abutterknife.bindingTable=true")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesFileNamed(StandardLocation.SOURCE_OUTPUT, "butterknife", "binding-cost.json")
+        .withContents(ByteSource.wrap(report.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test public void countsSharedListeners() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import butterknife.OnClick;\n"
+        + "import butterknife.OnLongClick;\n"
+        + "public class Test {\n"
+        + "  @OnClick(1) void onClick() {}\n"
+        + "  @OnLongClick(1) boolean onLongClick() { return true; }\n"
+        + "}"
+    );
+
+    String report = ""
+        + "{\n"
+        + "  \"bindings\": [\n"
+        + "    {\n"
+        + "      \"target\": \"test.Test\",\n"
+        + "      \"cost\": {\n"
+        + "        \"viewLookups\": 1,\n"
+        + "        \"pathLookups\": 0,\n"
+        + "        \"requiredChecks\": 1,\n"
+        + "        \"castViews\": 0,\n"
+        + "        \"listenerClasses\": 0,\n"
+        + "        \"sharedListeners\": 2,\n"
+        + "        \"resourceLoads\": {}\n"
+        + "      }\n"
+        + "    }\n"
+        + "  ]\n"
+        + "}\n";
+
+    assertAbout(javaSources()).that(ImmutableList.of(source))
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.costReport=true",
+            "-Abutterknife.supportClass=true")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesFileNamed(StandardLocation.SOURCE_OUTPUT, "butterknife", "binding-cost.json")
+        .withContents(ByteSource.wrap(report.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test public void countsOnePathLookupForHolder() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) TextView title;\n"
+        + "  @BindView(2) View icon;\n"
+        + "  @OnClick(2) void select() {}\n"
+        + "}"
+    );
+
+    String report = ""
+        + "{\n"
+        + "  \"bindings\": [\n"
+        + "    {\n"
+        + "      \"target\": \"test.Test\",\n"
+        + "      \"cost\": {\n"
+        + "        \"viewLookups\": 0,\n"
+        + "        \"pathLookups\": 1,\n"
+        + "        \"requiredChecks\": 2,\n"
+        + "        \"castViews\": 0,\n"
+        + "        \"listenerClasses\": 1,\n"
+        + "        \"sharedListeners\": 0,\n"
+        + "        \"resourceLoads\": {}\n"
+        + "      }\n"
+        + "    }\n"
+        + "  ]\n"
+        + "}\n";
+
+    assertAbout(javaSources()).that(ImmutableList.of(source))
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.costReport=true",
+            "-Abutterknife.holderPaths=true", "-Abutterknife.debuggable=false")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesFileNamed(StandardLocation.SOURCE_OUTPUT, "butterknife", "binding-cost.json")
+        .withContents(ByteSource.wrap(report.getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -7,6 +7,8 @@ import org.junit.Test;
 
 import static com.google.common.truth.Truth.assertAbout;
 import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+import static java.util.Arrays.asList;
 
 public class OnClickTest {
   @Test public void onClickBinding() {
@@ -115,6 +117,95 @@ public class OnClickTest {
         .generatesSources(bindingSource);
   }
 
+  @Test public void onClickSupportClass() {
+    JavaFileObject source1 = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test {\n"
+        + "  @OnClick(1) void doStuff() {}\n"
+        + "}"
+    );
+    JavaFileObject source2 = JavaFileObjects.forSourceString("test.Test2", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test2 {\n"
+        + "  @OnClick(2) void doMore(View view) {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  private View view1;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 1, \"method 'doStuff'\");\n"
+        + "    view1 = view;\n"
+        + "    view.setOnClickListener(new ButterKnifeSupport.SharedDebouncingOnClickListener(0, target));\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    target = null;\n"
+        + "    view1.setOnClickListener(null);\n"
+        + "    view1 = null;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    JavaFileObject supportSource = JavaFileObjects.forSourceString("test/ButterKnifeSupport", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import java.lang.AssertionError;\n"
+        + "import java.lang.Object;\n"
+        + "import java.lang.Override;\n"
+        + "final class ButterKnifeSupport {\n"
+        + "  private ButterKnifeSupport() {\n"
+        + "    throw new AssertionError(\"No instances.\");\n"
+        + "  }\n"
+        + "  static final class SharedDebouncingOnClickListener extends DebouncingOnClickListener {\n"
+        + "    private final int binding;\n"
+        + "    private final Object target;\n"
+        + "    SharedDebouncingOnClickListener(int binding, Object target) {\n"
+        + "      this.binding = binding;\n"
+        + "      this.target = target;\n"
+        + "    }\n"
+        + "    @Override\n"
+        + "    public void doClick(View p0) {\n"
+        + "      switch (binding) {\n"
+        + "        case 0:\n"
+        + "          ((Test) target).doStuff();\n"
+        + "          break;\n"
+        + "        case 1:\n"
+        + "          ((Test2) target).doMore(p0);\n"
+        + "          break;\n"
+        + "      }\n"
+        + "    }\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSources()).that(asList(source1, source2))
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.supportClass=true")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource, supportSource);
+  }
+
   @Test public void onClickMultipleBindings() {
     JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
         + "package test;\n"
@@ -397,6 +488,7 @@ public class OnClickTest {
         + "import android.widget.TextView;\n"
         + "import butterknife.Unbinder;\n"
         + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import butterknife.internal.Utils;\n"
         + "import java.lang.IllegalStateException;\n"
         + "import java.lang.Override;\n"
         + "public class Test_ViewBinding implements Unbinder {\n"
@@ -409,42 +501,39 @@ public class OnClickTest {
         + "  @UiThread\n"
         + "  public Test_ViewBinding(final Test target, View source) {\n"
         + "    this.target = target;\n"
-        + "    View view;\n"
-        + "    view = source.findViewById(0);\n"
-        + "    view0 = view;\n"
-        + "    view.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "    view0 = source.findViewById(0);\n"
+        + "    view1 = source.findViewById(1);\n"
+        + "    view2 = source.findViewById(2);\n"
+        + "    view3 = source.findViewById(3);\n"
+        + "    view4 = source.findViewById(4);\n"
+        + "    if (view0 == null || view1 == null || view2 == null || view3 == null || view4 == null) {\n"
+        + "      throw Utils.missingRequiredViews(source, 0, 1, 2, 3, 4);\n"
+        + "    }\n"
+        + "    view0.setOnClickListener(new DebouncingOnClickListener() {\n"
         + "      @Override\n"
         + "      public void doClick(View p0) {\n"
         + "        target.click0();\n"
         + "      }\n"
         + "    });\n"
-        + "    view = source.findViewById(1);\n"
-        + "    view1 = view;\n"
-        + "    view.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "    view1.setOnClickListener(new DebouncingOnClickListener() {\n"
         + "      @Override\n"
         + "      public void doClick(View p0) {\n"
         + "        target.click1(p0);\n"
         + "      }\n"
         + "    });\n"
-        + "    view = source.findViewById(2);\n"
-        + "    view2 = view;\n"
-        + "    view.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "    view2.setOnClickListener(new DebouncingOnClickListener() {\n"
         + "      @Override\n"
         + "      public void doClick(View p0) {\n"
         + "        target.click2((TextView) p0);\n"
         + "      }\n"
         + "    });\n"
-        + "    view = source.findViewById(3);\n"
-        + "    view3 = view;\n"
-        + "    view.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "    view3.setOnClickListener(new DebouncingOnClickListener() {\n"
         + "      @Override\n"
         + "      public void doClick(View p0) {\n"
         + "        target.click3((Button) p0);\n"
         + "      }\n"
         + "    });\n"
-        + "    view = source.findViewById(4);\n"
-        + "    view4 = view;\n"
-        + "    view.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "    view4.setOnClickListener(new DebouncingOnClickListener() {\n"
         + "      @Override\n"
         + "      public void doClick(View p0) {\n"
         + "        target.click4((Test.TestInterface) p0);\n"
@@ -845,4 +934,22 @@ public class OnClickTest {
             "@OnClick annotation for method contains duplicate ID 1. (test.Test.doStuff)")
         .in(source).onLine(5);
   }
+
+  @Test public void warnsAboveClickIdThreshold() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test {\n"
+        + "  @OnClick({1, 2}) void doStuff() {}\n"
+        + "  @OnClick(3) void doMore() {}\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.maxClickIds=2")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutError()
+        .withWarningContaining("test.Test binds @OnClick on 3 IDs, more than 2.")
+        .in(source).onLine(3);
+  }
 }
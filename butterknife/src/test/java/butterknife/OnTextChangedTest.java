@@ -222,4 +222,175 @@ public class OnTextChangedTest {
             .failsToCompile();
   }
 
+  @Test public void textChangedDebounced() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import butterknife.OnTextChanged;\n"
+        + "public class Test {\n"
+        + "  @OnTextChanged(value = 1, debounceMs = 300) void doStuff(CharSequence p0) {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.text.Editable;\n"
+        + "import android.text.TextWatcher;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.CoalescingTextWatcher;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.CharSequence;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  private View view1;\n"
+        + "  private CoalescingTextWatcher view1TextWatcher;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 1, \"method 'doStuff'\");\n"
+        + "    view1 = view;\n"
+        + "    view1TextWatcher = CoalescingTextWatcher.debounce(new TextWatcher() {\n"
+        + "      @Override\n"
+        + "      public void onTextChanged(CharSequence p0, int p1, int p2, int p3) {\n"
+        + "        target.doStuff(p0);\n"
+        + "      }\n"
+        + "      @Override\n"
+        + "      public void beforeTextChanged(CharSequence p0, int p1, int p2, int p3) {\n"
+        + "      }\n"
+        + "      @Override\n"
+        + "      public void afterTextChanged(Editable p0) {\n"
+        + "      }\n"
+        + "    }, 300);\n"
+        + "    ((TextView) view).addTextChangedListener(view1TextWatcher);\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    target = null;\n"
+        + "    view1TextWatcher.cancel();\n"
+        + "    ((TextView) view1).removeTextChangedListener(view1TextWatcher);\n"
+        + "    view1TextWatcher = null;\n"
+        + "    view1 = null;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void textChangedThrottled() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import butterknife.OnTextChanged;\n"
+        + "public class Test {\n"
+        + "  @OnTextChanged(value = 1, throttleMs = 100) void doStuff() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.text.Editable;\n"
+        + "import android.text.TextWatcher;\n"
+        + "import android.view.View;\n"
+        + "import android.widget.TextView;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.CoalescingTextWatcher;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.CharSequence;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  private View view1;\n"
+        + "  private CoalescingTextWatcher view1TextWatcher;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    View view;\n"
+        + "    view = Utils.findRequiredView(source, 1, \"method 'doStuff'\");\n"
+        + "    view1 = view;\n"
+        + "    view1TextWatcher = CoalescingTextWatcher.throttle(new TextWatcher() {\n"
+        + "      @Override\n"
+        + "      public void onTextChanged(CharSequence p0, int p1, int p2, int p3) {\n"
+        + "        target.doStuff();\n"
+        + "      }\n"
+        + "      @Override\n"
+        + "      public void beforeTextChanged(CharSequence p0, int p1, int p2, int p3) {\n"
+        + "      }\n"
+        + "      @Override\n"
+        + "      public void afterTextChanged(Editable p0) {\n"
+        + "      }\n"
+        + "    }, 100);\n"
+        + "    ((TextView) view).addTextChangedListener(view1TextWatcher);\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    target = null;\n"
+        + "    view1TextWatcher.cancel();\n"
+        + "    ((TextView) view1).removeTextChangedListener(view1TextWatcher);\n"
+        + "    view1TextWatcher = null;\n"
+        + "    view1 = null;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void debounceAndThrottleFails() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import butterknife.OnTextChanged;\n"
+        + "public class Test {\n"
+        + "  @OnTextChanged(value = 1, debounceMs = 300, throttleMs = 100) void doStuff() {}\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .processedWith(new ButterKnifeProcessor())
+        .failsToCompile()
+        .withErrorContaining(
+            "@OnTextChanged may specify only one of debounceMs and throttleMs. (test.Test.doStuff)")
+        .in(source).onLine(4);
+  }
+
+  @Test public void conflictingDeliveryOnSameViewFails() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import butterknife.OnTextChanged;\n"
+        + "public class Test {\n"
+        + "  @OnTextChanged(value = 1, debounceMs = 300) void doStuff() {}\n"
+        + "  @OnTextChanged(value = 1, callback = OnTextChanged.Callback.AFTER_TEXT_CHANGED)\n"
+        + "  void doMoreStuff() {}\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .processedWith(new ButterKnifeProcessor())
+        .failsToCompile()
+        .withErrorContaining(
+            "@OnTextChanged methods for ID 1 must all use the same debounceMs and throttleMs. "
+                + "(test.Test.doMoreStuff)");
+  }
 }
@@ -0,0 +1,97 @@
+package butterknife;
+
+import android.view.View;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class StartupProfileTest {
+  static final class Target {
+  }
+
+  static final class Target_ViewBinding implements Unbinder {
+    Target_ViewBinding(Target target, View source) {
+    }
+
+    @Override public void unbind() {
+    }
+  }
+
+  static class Parent {
+  }
+
+  static class Parent_ViewBinding implements Unbinder {
+    Parent_ViewBinding(Parent target, View source) {
+    }
+
+    @Override public void unbind() {
+    }
+  }
+
+  static final class Child extends Parent {
+  }
+
+  static final class Child_ViewBinding extends Parent_ViewBinding {
+    Child_ViewBinding(Child target, View source) {
+      super(target, source);
+    }
+  }
+
+  @Test public void recordsFirstBinds() {
+    StartupProfile profile = new StartupProfile(60000, 4);
+    assertThat(profile.isRecording()).isTrue();
+    profile.record(Target_ViewBinding.class, 1234);
+
+    assertThat(profile.getEntries()).hasSize(1);
+    StartupProfile.Entry entry = profile.getEntries().get(0);
+    assertThat(entry.getBindingClass()).isEqualTo(Target_ViewBinding.class);
+    assertThat(entry.getDurationNanos()).isEqualTo(1234);
+  }
+
+  @Test public void stopsAtCapacity() {
+    StartupProfile profile = new StartupProfile(60000, 2);
+    for (int i = 0; i < 5; i++) {
+      profile.record(Target_ViewBinding.class, i);
+    }
+    assertThat(profile.getEntries()).hasSize(2);
+    assertThat(profile.isRecording()).isFalse();
+  }
+
+  @Test public void stopsAfterWindow() {
+    StartupProfile profile = new StartupProfile(0, 4);
+    profile.record(Target_ViewBinding.class, 1);
+    assertThat(profile.getEntries()).isEmpty();
+    assertThat(profile.isRecording()).isFalse();
+  }
+
+  @Test public void writesEachClassOnce() throws IOException {
+    StartupProfile profile = new StartupProfile(60000, 4);
+    profile.record(Target_ViewBinding.class, 1);
+    profile.record(Target_ViewBinding.class, 2);
+
+    StringWriter writer = new StringWriter();
+    profile.writeBaselineProfile(writer);
+    assertThat(writer.toString()).isEqualTo(""
+        + "Lbutterknife/StartupProfileTest$Target_ViewBinding;\n"
+        + "HSPLbutterknife/StartupProfileTest$Target_ViewBinding;-><init>("
+        + "Lbutterknife/StartupProfileTest$Target;Landroid/view/View;)V\n");
+  }
+
+  @Test public void writesParentBindingClasses() throws IOException {
+    StartupProfile profile = new StartupProfile(60000, 4);
+    profile.record(Child_ViewBinding.class, 1);
+    profile.record(Parent_ViewBinding.class, 2);
+
+    StringWriter writer = new StringWriter();
+    profile.writeBaselineProfile(writer);
+    assertThat(writer.toString()).isEqualTo(""
+        + "Lbutterknife/StartupProfileTest$Child_ViewBinding;\n"
+        + "HSPLbutterknife/StartupProfileTest$Child_ViewBinding;-><init>("
+        + "Lbutterknife/StartupProfileTest$Child;Landroid/view/View;)V\n"
+        + "Lbutterknife/StartupProfileTest$Parent_ViewBinding;\n"
+        + "HSPLbutterknife/StartupProfileTest$Parent_ViewBinding;-><init>("
+        + "Lbutterknife/StartupProfileTest$Parent;Landroid/view/View;)V\n");
+  }
+}
@@ -0,0 +1,176 @@
+package butterknife;
+
+import butterknife.compiler.ButterKnifeProcessor;
+import com.google.testing.compile.JavaFileObjects;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class TraceTest {
+  @Test public void sectionsPerPhase() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.BindString;\n"
+        + "import butterknife.BindView;\n"
+        + "import butterknife.OnClick;\n"
+        + "public class Test {\n"
+        + "  @BindView(1) View thing;\n"
+        + "  @BindString(1) String title;\n"
+        + "  @OnClick({1, 2}) void doStuff() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.content.Context;\n"
+        + "import android.content.res.Resources;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.support.v4.os.TraceCompat;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import butterknife.internal.Utils;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "import java.lang.SuppressWarnings;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  private View view1;\n"
+        + "  private View view2;\n"
+        + "  @UiThread\n"
+        + "  @SuppressWarnings(\"ResourceType\")\n"
+        + "  public Test_ViewBinding(final Test target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    View view;\n"
+        + "    TraceCompat.beginSection(\"test.Test views\");\n"
+        + "    try {\n"
+        + "      view = Utils.findRequiredView(source, 1, \"field 'thing' and method 'doStuff'\");\n"
+        + "      target.thing = view;\n"
+        + "      view1 = view;\n"
+        + "      view = Utils.findRequiredView(source, 2, \"method 'doStuff'\");\n"
+        + "      view2 = view;\n"
+        + "    } finally {\n"
+        + "      TraceCompat.endSection();\n"
+        + "    }\n"
+        + "    TraceCompat.beginSection(\"test.Test listeners\");\n"
+        + "    try {\n"
+        + "      view1.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "        @Override\n"
+        + "        public void doClick(View p0) {\n"
+        + "          target.doStuff();\n"
+        + "        }\n"
+        + "      });\n"
+        + "      view2.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "        @Override\n"
+        + "        public void doClick(View p0) {\n"
+        + "          target.doStuff();\n"
+        + "        }\n"
+        + "      });\n"
+        + "    } finally {\n"
+        + "      TraceCompat.endSection();\n"
+        + "    }\n"
+        + "    TraceCompat.beginSection(\"test.Test resources\");\n"
+        + "    try {\n"
+        + "      Context context = source.getContext();\n"
+        + "      Resources res = context.getResources();\n"
+        + "      target.title = res.getString(1);\n"
+        + "    } finally {\n"
+        + "      TraceCompat.endSection();\n"
+        + "    }\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    Test target = this.target;\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    this.target = null;\n"
+        + "    target.thing = null;\n"
+        + "    view1.setOnClickListener(null);\n"
+        + "    view1 = null;\n"
+        + "    view2.setOnClickListener(null);\n"
+        + "    view2 = null;\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.trace=true")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+
+  @Test public void optionalListenerChecksField() {
+    JavaFileObject source = JavaFileObjects.forSourceString("test.Test", ""
+        + "package test;\n"
+        + "import butterknife.OnClick;\n"
+        + "import butterknife.Optional;\n"
+        + "public class Test {\n"
+        + "  @Optional @OnClick(1) void doStuff() {}\n"
+        + "}"
+    );
+
+    JavaFileObject bindingSource = JavaFileObjects.forSourceString("test/Test_ViewBinding", ""
+        + "package test;\n"
+        + "import android.support.annotation.CallSuper;\n"
+        + "import android.support.annotation.UiThread;\n"
+        + "import android.support.v4.os.TraceCompat;\n"
+        + "import android.view.View;\n"
+        + "import butterknife.Unbinder;\n"
+        + "import butterknife.internal.DebouncingOnClickListener;\n"
+        + "import java.lang.IllegalStateException;\n"
+        + "import java.lang.Override;\n"
+        + "public class Test_ViewBinding implements Unbinder {\n"
+        + "  private Test target;\n"
+        + "  private View view1;\n"
+        + "  @UiThread\n"
+        + "  public Test_ViewBinding(final Test target, View source) {\n"
+        + "    this.target = target;\n"
+        + "    View view;\n"
+        + "    TraceCompat.beginSection(\"test.Test views\");\n"
+        + "    try {\n"
+        + "      view = source.findViewById(1);\n"
+        + "      view1 = view;\n"
+        + "    } finally {\n"
+        + "      TraceCompat.endSection();\n"
+        + "    }\n"
+        + "    TraceCompat.beginSection(\"test.Test listeners\");\n"
+        + "    try {\n"
+        + "      if (view1 != null) {\n"
+        + "        view1.setOnClickListener(new DebouncingOnClickListener() {\n"
+        + "          @Override\n"
+        + "          public void doClick(View p0) {\n"
+        + "            target.doStuff();\n"
+        + "          }\n"
+        + "        });\n"
+        + "      }\n"
+        + "    } finally {\n"
+        + "      TraceCompat.endSection();\n"
+        + "    }\n"
+        + "  }\n"
+        + "  @Override\n"
+        + "  @CallSuper\n"
+        + "  public void unbind() {\n"
+        + "    if (target == null) throw new IllegalStateException(\"Bindings already cleared.\");\n"
+        + "    target = null;\n"
+        + "    if (view1 != null) {\n"
+        + "      view1.setOnClickListener(null);\n"
+        + "      view1 = null;\n"
+        + "    }\n"
+        + "  }\n"
+        + "}"
+    );
+
+    assertAbout(javaSource()).that(source)
+        .withCompilerOptions("-Xlint:-processing", "-Abutterknife.trace=true")
+        .processedWith(new ButterKnifeProcessor())
+        .compilesWithoutWarnings()
+        .and()
+        .generatesSources(bindingSource);
+  }
+}
@@ -0,0 +1,101 @@
+package butterknife;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public final class UnbinderScopeTest {
+  private final List<String> events = new ArrayList<>();
+  private final UnbinderScope scope = new UnbinderScope();
+
+  @After public void tearDown() {
+    ButterKnife.setBindingMonitor(null);
+  }
+
+  private Unbinder unbinder(final String name) {
+    return new Unbinder() {
+      @Override public void unbind() {
+        events.add(name);
+      }
+    };
+  }
+
+  @Test public void unbindsInReverseOrder() {
+    for (int i = 0; i < 20; i++) {
+      scope.add(unbinder("u" + i));
+    }
+    assertThat(scope.size()).isEqualTo(20);
+
+    scope.unbind();
+    assertThat(events).hasSize(20);
+    assertThat(events.get(0)).isEqualTo("u19");
+    assertThat(events.get(19)).isEqualTo("u0");
+    assertThat(scope.size()).isEqualTo(0);
+  }
+
+  @Test public void reusableAfterUnbind() {
+    scope.add(unbinder("first"));
+    scope.unbind();
+    scope.unbind();
+    scope.add(unbinder("second"));
+    scope.unbind();
+    assertThat(events).containsExactly("first", "second").inOrder();
+  }
+
+  @Test public void ignoresEmptyUnbinder() {
+    assertThat(scope.add(Unbinder.EMPTY)).isSameAs(Unbinder.EMPTY);
+    assertThat(scope.size()).isEqualTo(0);
+  }
+
+  @Test public void reportsSizesToMonitor() {
+    ButterKnife.setBindingMonitor(new BindingMonitor() {
+      @Override public void onScopeChanged(UnbinderScope changed, int size) {
+        events.add("size " + size);
+      }
+
+      @Override public void onScopeUnbind(UnbinderScope unbound, int count, long durationNanos) {
+        events.add("unbind " + count);
+      }
+    });
+    scope.add(unbinder("a"));
+    scope.add(unbinder("b"));
+    scope.unbind();
+    assertThat(events)
+        .containsExactly("size 1", "size 2", "b", "a", "unbind 2", "size 0")
+        .inOrder();
+  }
+
+  @Test public void keepsUnbindingAfterFailure() {
+    final IllegalStateException failure = new IllegalStateException("b");
+    ButterKnife.setBindingMonitor(new BindingMonitor() {
+      @Override public void onScopeChanged(UnbinderScope changed, int size) {
+        events.add("size " + size);
+      }
+
+      @Override public void onScopeUnbind(UnbinderScope unbound, int count, long durationNanos) {
+        events.add("unbind " + count);
+      }
+    });
+    scope.add(unbinder("a"));
+    scope.add(new Unbinder() {
+      @Override public void unbind() {
+        throw failure;
+      }
+    });
+    scope.add(unbinder("c"));
+    events.clear();
+
+    try {
+      scope.unbind();
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).isSameAs(failure);
+    }
+    assertThat(events).containsExactly("c", "a", "unbind 3", "size 0").inOrder();
+    assertThat(scope.size()).isEqualTo(0);
+  }
+}